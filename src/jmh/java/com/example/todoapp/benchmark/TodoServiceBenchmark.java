@@ -0,0 +1,227 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.TodoApplication;
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.service.TodoReadModel;
+import com.example.todoapp.domain.service.TodoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JMH benchmarks of the {@link TodoService} operations on top of JPA and in-memory H2.
+ * <p>
+ * Each trial boots the application without the web layer and seeds {@code rows} finished TODOs,
+ * with the in-memory read model switched on or off. {@code create}, {@code finish} and {@code delete}
+ * each measure one transaction; the per-invocation setup and teardown create or delete the TODO
+ * around it, so the table size and the unfinished count stay constant. Throughput mode reports
+ * ops/s and sample mode the latency percentiles; the default {@code jmh.args} add the GC profiler
+ * for the allocation rate and write {@code target/jmh-result.json}.
+ * <p>
+ * {@code findPageAsEntities} and {@code exportAllAsEntities} read the same rows as {@code findPage}
+ * (with {@code readModel=false}) and {@code exportAll}, but as managed {@link Todo} entities the way
+ * the list and export did before the {@link TodoSummary} projection; compare {@code gc.alloc.rate.norm}.
+ * Run with {@code ./mvnw test-compile exec:exec -Pjmh}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TodoServiceBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String ENTITY_LIST_QUERY = "SELECT t FROM Todo t ORDER BY t.createdAt DESC, t.todoId DESC";
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"10", "1000", "100000", "1000000"})
+        int rows;
+
+        @Param({"true", "false"})
+        boolean readModel;
+
+        ConfigurableApplicationContext context;
+
+        TodoService todoService;
+
+        EntityManager entityManager;
+
+        TransactionTemplate transactionTemplate;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(TodoApplication.class)
+                    .web(WebApplicationType.NONE)
+                    // 既定のdevプロファイルはSQL/DEBUGログを出力するため、計測に影響しないよう抑止する
+                    .run("--spring.datasource.url=jdbc:h2:mem:jmh",
+                            "--spring.jpa.show-sql=false",
+                            "--todo.read-model.enabled=" + readModel,
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.example.todoapp=WARN",
+                            "--logging.level.org.springframework.web=WARN",
+                            "--logging.level.org.springframework.security=WARN",
+                            "--logging.level.org.hibernate.SQL=WARN",
+                            "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+            todoService = context.getBean(TodoService.class);
+            entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            transactionTemplate = context.getBean(TransactionTemplate.class);
+            seed();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        private void seed() {
+            TodoRepository todoRepository = context.getBean(TodoRepository.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            for (int offset = 0; offset < rows; offset += SEED_CHUNK_SIZE) {
+                int count = Math.min(SEED_CHUNK_SIZE, rows - offset);
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Todo> todos = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        Todo todo = new Todo("Seed");
+                        // 未完了件数の上限に掛からないよう、完了済みで投入する
+                        todo.setFinished(true);
+                        todos.add(todo);
+                    }
+                    todoRepository.saveAll(todos);
+                });
+            }
+            // リポジトリ経由の投入は変更イベントを発行しないため、読み取りモデルを作り直す
+            context.getBean(TodoReadModel.class).rebuild();
+        }
+    }
+
+    /**
+     * Deletes the TODO a benchmark method created, if any.
+     */
+    @State(Scope.Thread)
+    public static class Created {
+
+        Long todoId;
+
+        @TearDown(Level.Invocation)
+        public void delete(Application application) {
+            if (todoId != null) {
+                application.todoService.delete(todoId);
+                todoId = null;
+            }
+        }
+    }
+
+    /**
+     * Provides an unfinished TODO to a benchmark method and deletes it afterwards unless the method did.
+     */
+    @State(Scope.Thread)
+    public static class Unfinished {
+
+        Long todoId;
+
+        boolean deleted;
+
+        @Setup(Level.Invocation)
+        public void create(Application application) {
+            todoId = application.todoService.create(new Todo("Benchmark")).getTodoId();
+            deleted = false;
+        }
+
+        @TearDown(Level.Invocation)
+        public void delete(Application application) {
+            if (!deleted) {
+                application.todoService.delete(todoId);
+            }
+        }
+    }
+
+    @Benchmark
+    public Todo create(Application application, Created created) {
+        Todo todo = application.todoService.create(new Todo("Benchmark"));
+        created.todoId = todo.getTodoId();
+        return todo;
+    }
+
+    @Benchmark
+    public void finish(Application application, Unfinished unfinished) {
+        application.todoService.finish(unfinished.todoId);
+    }
+
+    @Benchmark
+    public void delete(Application application, Unfinished unfinished) {
+        application.todoService.delete(unfinished.todoId);
+        unfinished.deleted = true;
+    }
+
+    @Benchmark
+    public List<TodoSummary> findAll(Application application) {
+        return application.todoService.findAll();
+    }
+
+    @Benchmark
+    public TodoPage findPage(Application application) {
+        return application.todoService.findPage(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Todo> findPageAsEntities(Application application) {
+        // 射影導入前の一覧と同じく、読み書きトランザクション内でエンティティ(クエリキャッシュ経由)を読み込む
+        return application.transactionTemplate.execute(status -> application.entityManager
+                .createQuery(ENTITY_LIST_QUERY, Todo.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultList());
+    }
+
+    @Benchmark
+    public void exportAll(Application application, Blackhole blackhole) {
+        application.todoService.exportAll(blackhole::consume);
+    }
+
+    @Benchmark
+    public void exportAllAsEntities(Application application, Blackhole blackhole) {
+        application.transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Todo> todos = application.entityManager.createQuery(ENTITY_LIST_QUERY, Todo.class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                todos.forEach(todo -> {
+                    blackhole.consume(todo);
+                    application.entityManager.detach(todo);
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.todoapp.api.common.error;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ApiError implements Serializable {
+
+    private static final Pattern CODED_TEXT = Pattern.compile("^\\[(\\w+)\\]\\s*(.*)$", Pattern.DOTALL);
+
+    private final String code;
+
+    private final String message;
+
+    private final String target;
+
+    private final List<ApiError> details = new ArrayList<>();
+
+    public ApiError(String code, String message) {
+        this(code, message, null);
+    }
+
+    public ApiError(String code, String message, String target) {
+        this.code = code;
+        this.message = message;
+        this.target = target;
+    }
+
+    /**
+     * Splits a message text such as {@code "[E001] ..."} into its code and message.
+     */
+    public static ApiError fromText(String text, String defaultCode) {
+        Matcher matcher = CODED_TEXT.matcher(text);
+        if (matcher.matches()) {
+            return new ApiError(matcher.group(1), matcher.group(2));
+        }
+        return new ApiError(defaultCode, text);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public List<ApiError> getDetails() {
+        return details;
+    }
+
+    public void addDetail(ApiError detail) {
+        details.add(detail);
+    }
+}
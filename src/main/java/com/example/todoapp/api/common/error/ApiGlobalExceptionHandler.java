@@ -0,0 +1,87 @@
+package com.example.todoapp.api.common.error;
+
+import com.example.todoapp.domain.service.TodoWriteRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+import org.terasoluna.gfw.common.message.ResultMessage;
+import org.terasoluna.gfw.common.message.ResultMessages;
+
+/**
+ * Renders errors raised under {@code /api} as {@link ApiError} JSON instead of the HTML error pages.
+ */
+@RestControllerAdvice(basePackages = "com.example.todoapp.api")
+public class ApiGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<Object> handleBusinessException(BusinessException ex, WebRequest request) {
+        return handleResultMessagesException(ex, ex.getResultMessages(), HttpStatus.CONFLICT, new HttpHeaders(),
+                request);
+    }
+
+    @ExceptionHandler(TodoWriteRejectedException.class)
+    public ResponseEntity<Object> handleTodoWriteRejectedException(TodoWriteRejectedException ex,
+            WebRequest request) {
+        // 書き込みは適用されていないため、時間をおいて再試行させる
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return handleResultMessagesException(ex, ex.getResultMessages(), HttpStatus.SERVICE_UNAVAILABLE, headers,
+                request);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        return handleResultMessagesException(ex, ex.getResultMessages(), HttpStatus.NOT_FOUND, new HttpHeaders(),
+                request);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
+            HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        ApiError apiError = new ApiError("E400", "The request contains invalid values.");
+        for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
+            apiError.addDetail(new ApiError(fieldError.getCode(), fieldError.getDefaultMessage(),
+                    fieldError.getField()));
+        }
+        return handleExceptionInternal(ex, apiError, headers, status, request);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body,
+            HttpHeaders headers, HttpStatusCode statusCode, WebRequest request) {
+        // ProblemDetailで返される既定の応答もApiError形式に揃える
+        if (!(body instanceof ApiError)) {
+            String detail = (ex instanceof ErrorResponse errorResponse)
+                    ? errorResponse.getBody().getDetail() : ex.getMessage();
+            body = ApiError.fromText(detail != null ? detail : "", "E" + statusCode.value());
+        }
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+
+    private ResponseEntity<Object> handleResultMessagesException(Exception ex, ResultMessages messages,
+            HttpStatus status, HttpHeaders headers, WebRequest request) {
+        ApiError apiError = null;
+        for (ResultMessage message : messages) {
+            ApiError error = ApiError.fromText(message.getText(), "E" + status.value());
+            if (apiError == null) {
+                apiError = error;
+            } else {
+                apiError.addDetail(error);
+            }
+        }
+        if (apiError == null) {
+            apiError = new ApiError("E" + status.value(), status.getReasonPhrase());
+        }
+        return handleExceptionInternal(ex, apiError, headers, status, request);
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.todoapp.api.todo;
+
+import com.example.todoapp.domain.service.TodoChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes committed {@link TodoChangedEvent}s, local and remote, to the Server-Sent Events streams of the
+ * owner they concern.
+ * <p>
+ * An idle stream holds no thread: it is an asynchronous request with a bounded queue, and a small shared
+ * pool of sender threads writes queued events to the connections. A subscriber whose queue overflows is
+ * disconnected. So is one whose write has been blocked for {@code sendTimeout}, e.g. a client that stopped
+ * reading: the blocked write keeps its thread until the connection times out, so the pool gets one more
+ * thread until then and the other subscribers are not held up. Every {@code heartbeatInterval} a comment is
+ * sent, which keeps idle connections open through proxies and detects closed ones.
+ * <p>
+ * Event ids are {@code <startup time>-<sequence>}. The last {@code replayCapacity} events are kept, up to
+ * {@code replayMaxBytes} of event data, so a client that reconnects with {@code Last-Event-ID} receives the
+ * events it missed. If they are no longer kept, or the id was issued by another run or node, it receives a
+ * {@value #RESET_EVENT} event instead and should reload the list.
+ */
+public class TodoChangeFeed {
+
+    static final String SUBSCRIBERS_METRIC = "todo.change-feed.subscribers";
+
+    static final String DISCONNECTED_METRIC = "todo.change-feed.disconnected";
+
+    static final String RESET_EVENT = "reset";
+
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoChangeFeed.class);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ObjectMapper objectMapper;
+
+    private final ThreadPoolExecutor senders;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final int bufferSize;
+
+    private final int replayCapacity;
+
+    private final long replayMaxBytes;
+
+    private final Duration heartbeatInterval;
+
+    private final long sendTimeoutNanos;
+
+    private final Counter disconnected;
+
+    private final ConcurrentMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // 以下はthisでロックして更新する。送信順が番号順になるよう、購読者への投入も同じロック内で行う
+    private long sequence;
+
+    private final Deque<Entry> recent = new ArrayDeque<>();
+
+    private long recentBytes;
+
+    /**
+     * @param senders   writes the events; its pool size is changed while writes are blocked
+     * @param scheduler runs the heartbeats and the detection of blocked writes
+     */
+    public TodoChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry, ThreadPoolExecutor senders,
+                          ScheduledExecutorService scheduler, int bufferSize, int replayCapacity, long replayMaxBytes,
+                          Duration heartbeatInterval, Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.senders = senders;
+        this.scheduler = scheduler;
+        this.bufferSize = bufferSize;
+        this.replayCapacity = replayCapacity;
+        this.replayMaxBytes = replayMaxBytes;
+        this.heartbeatInterval = heartbeatInterval;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.disconnected = Counter.builder(DISCONNECTED_METRIC)
+                .description("Change feed subscribers disconnected because they fell behind or stopped reading")
+                .register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_METRIC, subscribers, map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("Open change feed streams").register(meterRegistry);
+    }
+
+    public void start() {
+        long millis = heartbeatInterval.toMillis();
+        scheduler.scheduleAtFixedRate(this::heartbeat, millis, millis, TimeUnit.MILLISECONDS);
+        long sweepMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos) / 2);
+        scheduler.scheduleAtFixedRate(this::disconnectStalled, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ends every open stream, so that the clients reconnect, possibly to another node.
+     */
+    public void close() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    /**
+     * Opens a stream of the changes to {@code owner}'s todos. If {@code lastEventId} is given, the events
+     * after it are sent first, or a {@value #RESET_EVENT} event if they cannot be.
+     */
+    public SseEmitter subscribe(String owner, String lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(owner, emitter);
+        emitter.onCompletion(subscriber::completed);
+        emitter.onError(failure -> subscriber.completed());
+        emitter.onTimeout(emitter::complete);
+        synchronized (this) {
+            List<Entry> missed = (lastEventId == null) ? List.of() : missedSince(owner, lastEventId);
+            if (missed == null) {
+                subscriber.offer(new Entry(sequence, owner, RESET_EVENT, "{}"));
+            } else {
+                missed.forEach(subscriber::offer);
+                // 以降の再接続がこの位置から再開できるよう、現在の番号を送る
+                subscriber.offer(new Entry(sequence, owner, null, null));
+            }
+            subscribers.compute(owner, (key, set) -> {
+                Set<Subscriber> owners = (set != null) ? set : ConcurrentHashMap.newKeySet();
+                owners.add(subscriber);
+                return owners;
+            });
+        }
+        return emitter;
+    }
+
+    // コミットされた変更だけを送る。他ノードの変更はトランザクション外で発行される
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        // 購読者毎ではなく1度だけシリアライズする
+        String data = toJson(TodoChangeResource.of(event));
+        String name = event.getType().name().toLowerCase(Locale.ROOT);
+        synchronized (this) {
+            Entry entry = new Entry(++sequence, event.getOwner(), name, data);
+            recent.addLast(entry);
+            recentBytes += entry.bytes();
+            // 一括作成のイベントは大きいため、件数だけでなくデータ量でも古いものから捨てる
+            while (!recent.isEmpty() && (recent.size() > replayCapacity || recentBytes > replayMaxBytes)) {
+                recentBytes -= recent.removeFirst().bytes();
+            }
+            Set<Subscriber> owners = subscribers.get(event.getOwner());
+            if (owners != null) {
+                owners.forEach(subscriber -> subscriber.offer(entry));
+            }
+        }
+    }
+
+    /**
+     * The id of the latest event.
+     */
+    synchronized String lastEventId() {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * The estimated size of the event data kept for replay.
+     */
+    synchronized long replayBytes() {
+        return recentBytes;
+    }
+
+    SseEmitter newEmitter() {
+        // タイムアウトはspring.mvc.async.request-timeoutに従う。クライアントはLast-Event-IDで再接続する
+        return new SseEmitter();
+    }
+
+    // thisでロックして呼ぶ。再送できない場合はnull
+    private List<Entry> missedSince(String owner, String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence;
+        if (last > sequence || last < oldest - 1) {
+            return null;
+        }
+        List<Entry> missed = new ArrayList<>();
+        for (Entry entry : recent) {
+            if (entry.sequence > last && owner.equals(entry.owner)) {
+                missed.add(entry);
+            }
+        }
+        // 末尾に現在の番号を送るため、1件分の空きを残す
+        return (missed.size() < bufferSize) ? missed : null;
+    }
+
+    private void heartbeat() {
+        try {
+            synchronized (this) {
+                // 変更のない購読者も再接続時の再開位置が保持範囲から外れないよう、現在の番号を付ける
+                Entry heartbeat = new Entry(sequence, null, null, null);
+                subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(heartbeat)));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to send change feed heartbeats.", e);
+        }
+    }
+
+    private void disconnectStalled() {
+        try {
+            long now = System.nanoTime();
+            subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.disconnectIfStalled(now)));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to check the change feed subscribers for blocked writes.", e);
+        }
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            int size = senders.getCorePoolSize() + delta;
+            // 常にcore <= maxとなる順で変更する
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private String toJson(TodoChangeResource resource) {
+        try {
+            return objectMapper.writeValueAsString(resource);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class Entry {
+
+        final long sequence;
+
+        final String owner;
+
+        // nameがnullの場合は番号だけを伝えるコメント
+        final String name;
+
+        final String data;
+
+        Entry(long sequence, String owner, String name, String data) {
+            this.sequence = sequence;
+            this.owner = owner;
+            this.name = name;
+            this.data = data;
+        }
+
+        // ヒープ上の大きさの見積もり(1文字2バイト)
+        long bytes() {
+            return (data == null) ? 0 : 2L * data.length();
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().id(epoch + "-" + sequence);
+            if (name == null) {
+                return event.comment(HEARTBEAT_COMMENT);
+            }
+            // 文字コードをUTF-8に固定するため、JSONとして書き出す
+            return event.name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final String owner;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(bufferSize);
+
+        // 送信タスクが実行待ちまたは実行中か。1購読者の送信は同時に1スレッドだけが行う
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // 書き込み中の送信。止まっていると判定した場合はSTALLED
+        private final AtomicReference<Send> sending = new AtomicReference<>();
+
+        private volatile boolean closed;
+
+        private volatile boolean completed;
+
+        Subscriber(String owner, SseEmitter emitter) {
+            this.owner = owner;
+            this.emitter = emitter;
+        }
+
+        // フィードのロック内から呼ばれるため、ブロックしない
+        void offer(Entry entry) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(entry)) {
+                // 送信が追いつかない購読者は切断する。クライアントはLast-Event-IDで再接続して続きを受け取る
+                logger.debug("Disconnecting a change feed subscriber of {} that fell behind.", owner);
+                disconnected.increment();
+                remove();
+                queue.clear();
+            }
+            schedule();
+        }
+
+        @Override
+        public void run() {
+            try {
+                Entry entry;
+                while (!closed && (entry = queue.poll()) != null) {
+                    Send send = new Send(System.nanoTime());
+                    sending.set(send);
+                    try {
+                        emitter.send(entry.toEvent());
+                    } finally {
+                        if (!sending.compareAndSet(send, null)) {
+                            // 止まっている間に補った送信スレッドを減らす
+                            resizeSenders(-1);
+                        }
+                    }
+                }
+                if (closed && !completed) {
+                    completed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 切断済みの接続。コンテナから完了が通知される
+                completed = true;
+                remove();
+            } finally {
+                scheduled.set(false);
+                if (closed ? !completed : !queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        void completed() {
+            completed = true;
+            remove();
+        }
+
+        // スケジューラのスレッドから呼ばれる。書き込み中の接続には触れず、切断は書き込みが戻った後に行う
+        void disconnectIfStalled(long now) {
+            Send send = sending.get();
+            if (send != null && send != Send.STALLED && now - send.startedAt > sendTimeoutNanos
+                    && sending.compareAndSet(send, Send.STALLED)) {
+                logger.debug("Disconnecting a change feed subscriber of {} that stopped reading.", owner);
+                disconnected.increment();
+                remove();
+                queue.clear();
+                // 止まった書き込みがスレッドを占有している間、他の購読者への送信が滞らないよう1本補う
+                resizeSenders(1);
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // 停止中
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void remove() {
+            closed = true;
+            subscribers.computeIfPresent(owner, (key, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static final class Send {
+
+        static final Send STALLED = new Send(0);
+
+        final long startedAt;
+
+        Send(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.api.todo;
+
+import com.example.todoapp.domain.service.TodoChangedEvent;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data of one {@link TodoChangeFeed} event. {@code todos} holds the created todos for a {@code created}
+ * event and is empty otherwise.
+ */
+public class TodoChangeResource implements Serializable {
+
+    private final List<Long> todoIds;
+
+    private final List<TodoResource> todos;
+
+    private TodoChangeResource(List<Long> todoIds, List<TodoResource> todos) {
+        this.todoIds = todoIds;
+        this.todos = todos;
+    }
+
+    static TodoChangeResource of(TodoChangedEvent event) {
+        return new TodoChangeResource(event.getTodoIds(),
+                event.getCreated().stream().map(TodoResource::of).toList());
+    }
+
+    public List<Long> getTodoIds() {
+        return todoIds;
+    }
+
+    public List<TodoResource> getTodos() {
+        return todos;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todoapp.api.todo;
+
+import com.example.todoapp.domain.model.TodoPage;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class TodoPageResource implements Serializable {
+
+    private final List<TodoResource> todos;
+
+    private final String nextCursor;
+
+    private TodoPageResource(List<TodoResource> todos, String nextCursor) {
+        this.todos = todos;
+        this.nextCursor = nextCursor;
+    }
+
+    static TodoPageResource of(TodoPage page) {
+        return new TodoPageResource(
+                page.getTodos().stream().map(TodoResource::of).toList(),
+                page.hasNext() ? page.getNextCursor().toToken() : null);
+    }
+
+    public List<TodoResource> getTodos() {
+        return todos;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
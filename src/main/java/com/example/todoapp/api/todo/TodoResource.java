@@ -0,0 +1,76 @@
+package com.example.todoapp.api.todo;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+public class TodoResource implements Serializable {
+
+    public interface PostTodos {}
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long todoId;
+
+    @NotBlank(groups = {PostTodos.class})
+    @Size(min = 1, max = 30, groups = {PostTodos.class})
+    private String todoTitle;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean finished;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    static TodoResource of(Todo todo) {
+        TodoResource resource = new TodoResource();
+        resource.todoId = todo.getTodoId();
+        resource.todoTitle = todo.getTodoTitle();
+        resource.finished = todo.isFinished();
+        resource.createdAt = todo.getCreatedAt();
+        return resource;
+    }
+
+    static TodoResource of(TodoSummary todo) {
+        TodoResource resource = new TodoResource();
+        resource.todoId = todo.getTodoId();
+        resource.todoTitle = todo.getTodoTitle();
+        resource.finished = todo.isFinished();
+        resource.createdAt = todo.getCreatedAt();
+        return resource;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public String getTodoTitle() {
+        return todoTitle;
+    }
+
+    public void setTodoTitle(String todoTitle) {
+        this.todoTitle = todoTitle;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoResource{" +
+                "todoId=" + todoId +
+                ", todoTitle='" + todoTitle + '\'' +
+                ", finished=" + finished +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
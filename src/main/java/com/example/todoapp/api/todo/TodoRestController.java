@@ -0,0 +1,115 @@
+package com.example.todoapp.api.todo;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.service.TodoOwnerResolver;
+import com.example.todoapp.domain.service.TodoRevision;
+import com.example.todoapp.domain.service.TodoService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("api/todos")
+public class TodoRestController {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoRevision todoRevision;
+
+    @Autowired
+    TodoOwnerResolver todoOwnerResolver;
+
+    @Autowired
+    TodoChangeFeed todoChangeFeed;
+
+    @GetMapping
+    public ResponseEntity<TodoPageResource> getTodos(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE)
+            @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        // クエリ実行前にリビジョンを確定させ、未変更ならクエリもシリアライズも行わずに304を返す
+        String etag = "\"" + todoRevision.current(todoOwnerResolver.currentOwner()) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        TodoPage page = todoService.findPage(parseCursor(cursor), size);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(TodoPageResource.of(page));
+    }
+
+    @GetMapping(value = "events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        // 非同期リクエストとして保持するため、待機中の接続はリクエストスレッドを占有しない
+        return todoChangeFeed.subscribe(todoOwnerResolver.currentOwner(), lastEventId);
+    }
+
+    @PostMapping
+    public ResponseEntity<TodoResource> postTodos(
+            @RequestBody @Validated({TodoResource.PostTodos.class}) TodoResource todoResource) {
+        Todo todo = new Todo();
+        todo.setTodoTitle(todoResource.getTodoTitle());
+
+        Todo createdTodo = todoService.create(todo);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{todoId}").buildAndExpand(createdTodo.getTodoId()).toUri();
+        return ResponseEntity.created(location).body(TodoResource.of(createdTodo));
+    }
+
+    @PutMapping("{todoId}")
+    public TodoResource putTodo(@PathVariable("todoId") Long todoId) {
+        todoService.finish(todoId);
+        return TodoResource.of(todoService.findSummary(todoId));
+    }
+
+    @DeleteMapping("{todoId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteTodo(@PathVariable("todoId") Long todoId) {
+        todoService.delete(todoId);
+    }
+
+    private TodoCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return TodoCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "[E400] The cursor is invalid.");
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.todoapp.app.todo;
 
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.service.TodoBatchResult;
 import com.example.todoapp.domain.service.TodoService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.terasoluna.gfw.common.exception.BusinessException;
 import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
@@ -15,14 +21,23 @@ import org.terasoluna.gfw.common.message.ResultMessage;
 import org.terasoluna.gfw.common.message.ResultMessages;
 
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("todo")
 public class TodoController {
 
+    static final int PAGE_SIZE = 20;
+
+    // 部分更新(todo-list.js)からのリクエスト。該当行のみを返し、一覧全体の再描画を避ける
+    static final String FRAGMENT_REQUEST = "X-Requested-With=XMLHttpRequest";
+
     @Autowired
     TodoService todoService;
 
+    @Autowired
+    TodoListFragmentCache todoListFragmentCache;
+
     @ModelAttribute
     public TodoForm setUpForm() {
         TodoForm form = new TodoForm();
@@ -30,9 +45,13 @@ public class TodoController {
     }
 
     @RequestMapping(value = "list")
-    public String list(Model model) {
-        List<Todo> todos = todoService.findAll();
-        model.addAttribute("todos", todos);
+    public String list(@RequestParam(value = "cursor", required = false) String cursor, Model model) {
+        TodoListFragment fragment = todoListFragmentCache.get(parseCursor(cursor), PAGE_SIZE);
+        model.addAttribute("todos", fragment.getTodos());
+        model.addAttribute("todoItems", fragment.getHtml());
+        if (fragment.getNextCursor() != null) {
+            model.addAttribute("nextCursor", fragment.getNextCursor());
+        }
         return "todo/list";
     }
 
@@ -41,7 +60,7 @@ public class TodoController {
                         BindingResult bindingResult, Model model, RedirectAttributes attributes) {
 
         if (bindingResult.hasErrors()) {
-            return list(model);
+            return list(null, model);
         }
 
         Todo todo = new Todo();
@@ -51,7 +70,7 @@ public class TodoController {
             todoService.create(todo);
         } catch (BusinessException e) {
             model.addAttribute(e.getResultMessages());
-            return list(model);
+            return list(null, model);
         }
 
         attributes.addFlashAttribute(ResultMessages.success().add(
@@ -66,7 +85,7 @@ public class TodoController {
             todoService.finish(todoId);
         } catch (BusinessException | ResourceNotFoundException e) {
             model.addAttribute(e.getResultMessages());
-            return list(model);
+            return list(null, model);
         }
 
         attributes.addFlashAttribute(ResultMessages.success().add(
@@ -81,11 +100,109 @@ public class TodoController {
             todoService.delete(todoId);
         } catch (BusinessException | ResourceNotFoundException e) {
             model.addAttribute(e.getResultMessages());
-            return list(model);
+            return list(null, model);
         }
 
         attributes.addFlashAttribute(ResultMessages.success().add(
                 ResultMessage.fromText("Deleted successfully!")));
         return "redirect:/todo/list";
     }
+
+    @RequestMapping(value = "finish", method = RequestMethod.POST, headers = FRAGMENT_REQUEST)
+    public ModelAndView finishFragment(@RequestParam("todoId") Long todoId) {
+        TodoSummary todo;
+        try {
+            todoService.finish(todoId);
+            // 完了は条件付きUPDATEのみで行を返さないため、描画する行は射影で読み直す
+            todo = todoService.findSummary(todoId);
+        } catch (BusinessException e) {
+            return messagesFragment(e.getResultMessages(), HttpStatus.CONFLICT);
+        } catch (ResourceNotFoundException e) {
+            return messagesFragment(e.getResultMessages(), HttpStatus.NOT_FOUND);
+        }
+        return new ModelAndView("todo/items :: item", "todo", todo);
+    }
+
+    @RequestMapping(value = "delete", method = RequestMethod.POST, headers = FRAGMENT_REQUEST)
+    public ModelAndView deleteFragment(@RequestParam("todoId") Long todoId, HttpServletResponse response) {
+        try {
+            todoService.delete(todoId);
+        } catch (BusinessException e) {
+            return messagesFragment(e.getResultMessages(), HttpStatus.CONFLICT);
+        } catch (ResourceNotFoundException e) {
+            return messagesFragment(e.getResultMessages(), HttpStatus.NOT_FOUND);
+        }
+        // 削除した行はクライアント側で取り除くため、本文は返さない
+        response.setStatus(HttpStatus.NO_CONTENT.value());
+        return null;
+    }
+
+    @RequestMapping(value = "finishAll", method = RequestMethod.POST)
+    public String finishAll(@RequestParam(value = "todoIds", required = false) List<Long> todoIds,
+                            RedirectAttributes attributes) {
+        if (todoIds == null || todoIds.isEmpty()) {
+            attributes.addFlashAttribute(noSelectionMessages());
+            return "redirect:/todo/list";
+        }
+
+        TodoBatchResult result = todoService.finishAll(todoIds);
+
+        attributes.addFlashAttribute(toResultMessages(result, "Finished successfully!"));
+        return "redirect:/todo/list";
+    }
+
+    @RequestMapping(value = "deleteAll", method = RequestMethod.POST)
+    public String deleteAll(@RequestParam(value = "todoIds", required = false) List<Long> todoIds,
+                            RedirectAttributes attributes) {
+        if (todoIds == null || todoIds.isEmpty()) {
+            attributes.addFlashAttribute(noSelectionMessages());
+            return "redirect:/todo/list";
+        }
+
+        TodoBatchResult result = todoService.deleteAll(todoIds);
+
+        attributes.addFlashAttribute(toResultMessages(result, "Deleted successfully!"));
+        return "redirect:/todo/list";
+    }
+
+    private ModelAndView messagesFragment(ResultMessages messages, HttpStatus status) {
+        ModelAndView modelAndView = new ModelAndView("todo/list :: messages", status);
+        modelAndView.addObject(messages);
+        return modelAndView;
+    }
+
+    private ResultMessages noSelectionMessages() {
+        return ResultMessages.error().add(ResultMessage.fromText("[E003] No Todo is selected."));
+    }
+
+    private ResultMessages toResultMessages(TodoBatchResult result, String successText) {
+        ResultMessages messages = result.hasFailures() ? ResultMessages.error() : ResultMessages.success();
+        for (Map.Entry<Long, TodoBatchResult.Outcome> entry : result.getOutcomes().entrySet()) {
+            Long todoId = entry.getKey();
+            switch (entry.getValue()) {
+                case NOT_FOUND:
+                    messages.add(ResultMessage.fromText("[E404] The requested Todo is not found. (id=" + todoId + ")"));
+                    break;
+                case ALREADY_FINISHED:
+                    messages.add(ResultMessage.fromText("[E002] The requested Todo is already finished. (id=" + todoId + ")"));
+                    break;
+                default:
+                    messages.add(ResultMessage.fromText(successText + " (id=" + todoId + ")"));
+                    break;
+            }
+        }
+        return messages;
+    }
+
+    private TodoCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return TodoCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            // 改ざん・期限切れのカーソルは先頭ページとして扱う
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.example.todoapp.app.todo;
+
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.service.TodoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Controller
+@RequestMapping("todo")
+public class TodoExportController {
+
+    static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @RequestMapping(value = "export", method = RequestMethod.GET)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "csv") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        // 行の読み込みと書き出しは非同期スレッド上で行い、読んだ行から順にソケットへ送る
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (ndjson) {
+                writeNdjson(writer);
+            } else {
+                writeCsv(writer);
+            }
+            writer.flush();
+        };
+        String filename = ndjson ? "todos.ndjson" : "todos.csv";
+        return ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write(String.join(",", TodoCsv.HEADER_TODO_ID, TodoCsv.HEADER_TODO_TITLE,
+                TodoCsv.HEADER_FINISHED, TodoCsv.HEADER_CREATED_AT));
+        writer.write('\n');
+        StringBuilder line = new StringBuilder();
+        todoService.exportAll(todo -> {
+            line.setLength(0);
+            line.append(todo.getTodoId()).append(',');
+            TodoCsv.appendField(line, todo.getTodoTitle());
+            line.append(',').append(todo.isFinished())
+                    .append(',').append(todo.getCreatedAt())
+                    .append('\n');
+            write(writer, line);
+        });
+    }
+
+    private void writeNdjson(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // 改行区切りで1行1オブジェクトとし、出力先のフラッシュ・クローズは呼び出し元に任せる
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        generator.configure(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, false);
+        generator.setRootValueSeparator(null);
+        todoService.exportAll(todo -> {
+            try {
+                writeJson(generator, todo);
+                generator.flush();
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.close();
+    }
+
+    private void writeJson(JsonGenerator generator, TodoSummary todo) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(TodoCsv.HEADER_TODO_ID, todo.getTodoId());
+        generator.writeStringField(TodoCsv.HEADER_TODO_TITLE, todo.getTodoTitle());
+        generator.writeBooleanField(TodoCsv.HEADER_FINISHED, todo.isFinished());
+        generator.writeStringField(TodoCsv.HEADER_CREATED_AT, todo.getCreatedAt().toString());
+        generator.writeEndObject();
+    }
+
+    private void write(Writer writer, CharSequence line) {
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            // クライアント切断時はここで中断し、結果セットも閉じる
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.todoapp.app.todo;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+@RequestMapping("todo")
+public class TodoImportController {
+
+    @Autowired
+    TodoImportHelper todoImportHelper;
+
+    @RequestMapping(value = "import", method = RequestMethod.POST,
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseBody
+    public TodoImportResult importFile(@RequestParam("file") MultipartFile file) throws IOException {
+        TodoImportHelper.Format format = TodoImportHelper.Format.of(
+                file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return todoImportHelper.importTodos(in, format);
+        }
+    }
+
+    @RequestMapping(value = "import", method = RequestMethod.POST,
+            consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseBody
+    public TodoImportResult importBody(HttpServletRequest request) throws IOException {
+        // リクエストボディを直接読み込み、一時ファイルを介さずに取り込む
+        TodoImportHelper.Format format = TodoImportHelper.Format.of(null, request.getContentType());
+        try (InputStream in = request.getInputStream()) {
+            return todoImportHelper.importTodos(in, format);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.todoapp.app.todo;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.service.TodoService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams CSV or NDJSON rows into the {@code todo} table.
+ * <p>
+ * Rows are parsed one line at a time, validated with the {@link TodoForm} rules and
+ * handed to {@link TodoService#createAll(List)} in fixed-size chunks, one transaction each,
+ * so memory use does not depend on the size of the input.
+ */
+@Component
+public class TodoImportHelper {
+
+    static final int CHUNK_SIZE = 500;
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        static Format of(String filename, String contentType) {
+            if (filename != null && (filename.endsWith(".ndjson") || filename.endsWith(".jsonl"))) {
+                return NDJSON;
+            }
+            if (contentType != null && contentType.startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+            return CSV;
+        }
+    }
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    public TodoImportResult importTodos(InputStream in, Format format) throws IOException {
+        long start = System.nanoTime();
+        TodoImportResult result = new TodoImportResult(MAX_REPORTED_ERRORS);
+        List<Todo> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        int[] columns = {0, 1, 2};
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Todo todo;
+            try {
+                // 解析できない1行目は見出しかどうか判別できないため、データ行として拒否する
+                if (format == Format.CSV && lineNumber == 1 && readCsvHeader(line, columns)) {
+                    continue;
+                }
+                todo = (format == Format.CSV) ? parseCsv(line, columns) : parseNdjson(line);
+            } catch (IllegalArgumentException e) {
+                result.countRow();
+                result.reject(lineNumber, e.getMessage());
+                continue;
+            }
+            result.countRow();
+            chunk.add(todo);
+            chunkLines.add(lineNumber);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush(chunk, chunkLines, result);
+            }
+        }
+        flush(chunk, chunkLines, result);
+        result.complete(System.nanoTime() - start);
+        return result;
+    }
+
+    private void flush(List<Todo> chunk, List<Long> chunkLines, TodoImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Todo> saved = Collections.newSetFromMap(new IdentityHashMap<>());
+        saved.addAll(todoService.createAll(chunk));
+        result.imported(saved.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!saved.contains(chunk.get(i))) {
+                result.reject(chunkLines.get(i), TodoService.unfinishedLimitExceeded().getText());
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private boolean readCsvHeader(String line, int[] columns) {
+        List<String> header = TodoCsv.parseLine(line);
+        int titleIndex = header.indexOf(TodoCsv.HEADER_TODO_TITLE);
+        if (titleIndex < 0) {
+            return false;
+        }
+        columns[0] = titleIndex;
+        columns[1] = header.indexOf(TodoCsv.HEADER_FINISHED);
+        columns[2] = header.indexOf(TodoCsv.HEADER_CREATED_AT);
+        return true;
+    }
+
+    private Todo parseCsv(String line, int[] columns) {
+        List<String> fields = TodoCsv.parseLine(line);
+        return toTodo(field(fields, columns[0]), field(fields, columns[1]), field(fields, columns[2]));
+    }
+
+    private String field(List<String> fields, int index) {
+        return (index >= 0 && index < fields.size()) ? fields.get(index) : null;
+    }
+
+    private Todo parseNdjson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Malformed JSON: an object is required");
+        }
+        return toTodo(text(node, TodoCsv.HEADER_TODO_TITLE), text(node, TodoCsv.HEADER_FINISHED),
+                text(node, TodoCsv.HEADER_CREATED_AT));
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return (value == null || value.isNull()) ? null : value.asText();
+    }
+
+    private Todo toTodo(String todoTitle, String finished, String createdAt) {
+        TodoForm form = new TodoForm();
+        form.setTodoTitle(todoTitle);
+        Set<ConstraintViolation<TodoForm>> violations = validator.validate(form, TodoForm.TodoCreate.class);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<TodoForm> violation = violations.iterator().next();
+            throw new IllegalArgumentException(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+
+        Todo todo = new Todo(todoTitle);
+        if (finished != null && !finished.isEmpty()) {
+            if (!"true".equalsIgnoreCase(finished) && !"false".equalsIgnoreCase(finished)) {
+                throw new IllegalArgumentException("finished: must be true or false");
+            }
+            todo.setFinished(Boolean.parseBoolean(finished));
+        }
+        if (createdAt != null && !createdAt.isEmpty()) {
+            try {
+                todo.setCreatedAt(LocalDateTime.parse(createdAt));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("createdAt: must be an ISO-8601 local date-time");
+            }
+        }
+        return todo;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.todoapp.app.todo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary returned by the import endpoint. Only the first {@code maxReportedErrors}
+ * rejected rows are listed, so the report stays bounded for any input size.
+ */
+public class TodoImportResult implements Serializable {
+
+    public static class RowError implements Serializable {
+
+        private final long line;
+
+        private final String message;
+
+        RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final int maxReportedErrors;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    private long totalRows;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+
+    TodoImportResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void countRow() {
+        totalRows++;
+    }
+
+    void imported(int rows) {
+        importedRows += rows;
+    }
+
+    void reject(long line, String message) {
+        rejectedRows++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    void complete(long elapsedNanos) {
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? 0 : totalRows / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public boolean isErrorsTruncated() {
+        return rejectedRows > errors.size();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoImportResult{" +
+                "totalRows=" + totalRows +
+                ", importedRows=" + importedRows +
+                ", rejectedRows=" + rejectedRows +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
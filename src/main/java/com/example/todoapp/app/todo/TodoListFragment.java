@@ -0,0 +1,33 @@
+package com.example.todoapp.app.todo;
+
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+
+import java.util.List;
+
+/**
+ * One page of the TODO list together with its rendered rows.
+ */
+public class TodoListFragment {
+
+    private final TodoPage page;
+
+    private final String html;
+
+    public TodoListFragment(TodoPage page, String html) {
+        this.page = page;
+        this.html = html;
+    }
+
+    public List<TodoSummary> getTodos() {
+        return page.getTodos();
+    }
+
+    public String getNextCursor() {
+        return page.hasNext() ? page.getNextCursor().toToken() : null;
+    }
+
+    public String getHtml() {
+        return html;
+    }
+}
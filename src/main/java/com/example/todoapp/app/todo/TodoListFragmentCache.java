@@ -0,0 +1,70 @@
+package com.example.todoapp.app.todo;
+
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.service.TodoOwnerResolver;
+import com.example.todoapp.domain.service.TodoRevision;
+import com.example.todoapp.domain.service.TodoService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Set;
+
+/**
+ * Caches the rendered rows of {@code todo/list.html} per owner and {@link TodoRevision}.
+ * <p>
+ * The rows are rendered from {@code todo/items.html}, which must not contain anything that
+ * differs between requests (CSRF token, messages, form state); those stay in {@code list.html}.
+ */
+@Component
+public class TodoListFragmentCache {
+
+    static final String TEMPLATE = "todo/items";
+
+    static final Set<String> FRAGMENT = Set.of("items");
+
+    // 古いリビジョンのエントリは再利用されないまま残るため、件数ではなくHTMLの文字数で上限を設ける
+    private static final long MAX_CACHED_CHARS = 16L * 1024 * 1024;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoRevision todoRevision;
+
+    @Autowired
+    TodoOwnerResolver todoOwnerResolver;
+
+    @Autowired
+    ITemplateEngine templateEngine;
+
+    private final Cache<String, TodoListFragment> cache = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_CHARS)
+            .weigher((String key, TodoListFragment fragment) -> fragment.getHtml().length())
+            .build();
+
+    /**
+     * Returns the page after {@code cursor}, rendering it only if the data has changed since it was last rendered.
+     */
+    public TodoListFragment get(TodoCursor cursor, int size) {
+        // 先にリビジョンを読むため、キャッシュされる内容はキーのリビジョン以降のデータになる
+        String owner = todoOwnerResolver.currentOwner();
+        String key = owner + "|" + todoRevision.current(owner) + "|" + (cursor == null ? "" : cursor.toToken())
+                + "|" + size;
+        return cache.get(key, k -> render(todoService.findPage(cursor, size)));
+    }
+
+    /**
+     * Renders a page without consulting the cache.
+     */
+    public TodoListFragment render(TodoPage page) {
+        Context context = new Context();
+        context.setVariable("todos", page.getTodos());
+        String html = templateEngine.process(TEMPLATE, FRAGMENT, context);
+        return new TodoListFragment(page, html);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.todoapp.common.flash;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps flash attributes in a signed cookie instead of the {@code HttpSession}.
+ * <p>
+ * The flash maps are serialized, gzipped and signed with HMAC-SHA256; a cookie whose signature does not
+ * match is ignored before anything is deserialized. Only the types that flash attributes of this
+ * application consist of ({@code ResultMessages} and JDK types) can be deserialized. Flash maps that do not
+ * fit in a cookie are dropped with a warning. All nodes must share the same secret.
+ */
+public class CookieFlashMapManager extends AbstractFlashMapManager {
+
+    public static final String COOKIE_NAME = "FLASH";
+
+    // ブラウザが受け付けるCookieは名前・属性込みで4096バイトまで
+    static final int MAX_COOKIE_VALUE_LENGTH = 3800;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final ObjectInputFilter DESERIALIZATION_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=10;java.lang.*;java.util.*;org.springframework.web.servlet.FlashMap;"
+                    + "org.springframework.util.LinkedMultiValueMap;org.terasoluna.gfw.common.message.*;!*");
+
+    private static final Logger logger = LoggerFactory.getLogger(CookieFlashMapManager.class);
+
+    private final SecretKeySpec key;
+
+    public CookieFlashMapManager(byte[] secret) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    @Override
+    @Nullable
+    protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+        Cookie cookie = findCookie(request);
+        if (cookie == null || !StringUtils.hasText(cookie.getValue())) {
+            return null;
+        }
+        try {
+            byte[] signed = Base64.getUrlDecoder().decode(cookie.getValue());
+            if (signed.length <= SIGNATURE_LENGTH) {
+                return null;
+            }
+            byte[] payload = Arrays.copyOfRange(signed, SIGNATURE_LENGTH, signed.length);
+            if (!MessageDigest.isEqual(sign(payload), Arrays.copyOf(signed, SIGNATURE_LENGTH))) {
+                logger.debug("Ignoring a flash cookie with an invalid signature.");
+                return null;
+            }
+            return deserialize(payload);
+        } catch (IllegalArgumentException | IOException | ClassNotFoundException | ClassCastException e) {
+            logger.debug("Ignoring an unreadable flash cookie.", e);
+            return null;
+        }
+    }
+
+    @Override
+    protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request, HttpServletResponse response) {
+        if (flashMaps.isEmpty()) {
+            if (findCookie(request) != null) {
+                addCookie(request, response, "", 0);
+            }
+            return;
+        }
+        String value;
+        try {
+            byte[] payload = serialize(flashMaps);
+            byte[] signature = sign(payload);
+            byte[] signed = Arrays.copyOf(signature, SIGNATURE_LENGTH + payload.length);
+            System.arraycopy(payload, 0, signed, SIGNATURE_LENGTH, payload.length);
+            value = Base64.getUrlEncoder().withoutPadding().encodeToString(signed);
+        } catch (IOException e) {
+            logger.warn("Could not serialize flash attributes; they are discarded.", e);
+            return;
+        }
+        if (value.length() > MAX_COOKIE_VALUE_LENGTH) {
+            logger.warn("Flash attributes ({} chars encoded) do not fit in a cookie; they are discarded.", value.length());
+            return;
+        }
+        addCookie(request, response, value, -1);
+    }
+
+    @Override
+    @Nullable
+    protected Object getFlashMapsMutex(HttpServletRequest request) {
+        // セッションを共有しないため、リクエスト間の排他は不要
+        return null;
+    }
+
+    @Nullable
+    private Cookie findCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return cookie;
+            }
+        }
+        return null;
+    }
+
+    private void addCookie(HttpServletRequest request, HttpServletResponse response, String value, long maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .path(StringUtils.hasLength(request.getContextPath()) ? request.getContextPath() : "/")
+                .maxAge(maxAge)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static byte[] serialize(List<FlashMap> flashMaps) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeObject(new ArrayList<>(flashMaps));
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<FlashMap> deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            in.setObjectInputFilter(DESERIALIZATION_FILTER);
+            return (List<FlashMap>) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.todoapp.common.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Counts the SQL statements of each request and logs requests above the limit.
+ * Requests under an excluded path are counted without any warning, including their transactions.
+ * Work done on another thread, such as a streaming response body, is not counted.
+ */
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter counter;
+
+    private final int maxStatementsPerRequest;
+
+    private final List<String> excludedPaths;
+
+    public SqlStatementCountFilter(SqlStatementCounter counter, int maxStatementsPerRequest, List<String> excludedPaths) {
+        this.counter = counter;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int limit = excludedPaths.stream().anyMatch(path::startsWith) ? -1 : maxStatementsPerRequest;
+        try (SqlStatementCounter.Scope scope = counter.open(request.getMethod() + " " + request.getRequestURI(), limit)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
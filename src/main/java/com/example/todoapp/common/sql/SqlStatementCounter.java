@@ -0,0 +1,161 @@
+package com.example.todoapp.common.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per open {@link Scope} and per transaction.
+ * <p>
+ * Scopes are bound to the current thread and may be nested; a statement counts towards every
+ * open scope. A scope opened with a limit logs a warning on close when it was exceeded, and when
+ * one statement was repeated often enough to suggest an N+1 access. Transactions get such a scope
+ * automatically, unless they run inside a quiet scope (negative limit), which is meant for bulk
+ * operations whose statement count grows with their input. Statements run with JDBC batching are
+ * counted once per batch.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCounter.class);
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final int maxStatementsPerTransaction;
+
+    private final int repeatedStatementThreshold;
+
+    public SqlStatementCounter(int maxStatementsPerTransaction, int repeatedStatementThreshold) {
+        this.maxStatementsPerTransaction = maxStatementsPerTransaction;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionScope().record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Opens a scope on the current thread without a limit, e.g. to assert statement counts in a test.
+     */
+    public Scope open(String name) {
+        return open(name, 0);
+    }
+
+    /**
+     * Opens a scope on the current thread; close it on the same thread.
+     *
+     * @param limit the number of statements above which closing the scope logs a warning; 0 for none,
+     *              negative to also silence the transactions run inside it
+     */
+    public Scope open(String name, int limit) {
+        Scope scope = new Scope(name, limit, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    private Scope transactionScope() {
+        Scope scope = (Scope) TransactionSynchronizationManager.getResource(this);
+        if (scope == null) {
+            boolean quiet = false;
+            for (Scope current = CURRENT.get(); current != null; current = current.parent) {
+                quiet |= current.limit < 0;
+            }
+            Scope transaction = new Scope("transaction", quiet ? -1 : maxStatementsPerTransaction, null);
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SqlStatementCounter.this);
+                    transaction.report();
+                }
+            });
+            scope = transaction;
+        }
+        return scope;
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final String name;
+
+        private final int limit;
+
+        private final Scope parent;
+
+        // SQL毎の発行回数(件数が膨らまないよう、SQL文字列単位で集約する)
+        private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+        private int count;
+
+        private Scope(String name, int limit, Scope parent) {
+            this.name = name;
+            this.limit = limit;
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            count++;
+            statements.merge(sql, 1, Integer::sum);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return each distinct statement with the number of times it was prepared, in first-seen order
+         */
+        public Map<String, Integer> getStatements() {
+            return Collections.unmodifiableMap(statements);
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+            report();
+        }
+
+        private void report() {
+            if (limit < 0) {
+                return;
+            }
+            if (limit > 0 && count > limit) {
+                logger.warn("{} SQL statements in {} (limit {}): {}", count, name, limit, statements.keySet());
+            }
+            if (repeatedStatementThreshold > 0) {
+                statements.forEach((sql, times) -> {
+                    if (times >= repeatedStatementThreshold) {
+                        logger.warn("Statement prepared {} times in {}, possible N+1: {}", times, name, sql);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + count + " statements " + statements;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.todoapp.common.timing;
+
+/**
+ * Durations of the phases of one request, measured with {@link System#nanoTime()}.
+ * <p>
+ * An instance is bound to the request thread by {@link ServerTimingFilter} and is not thread-safe.
+ * Phases may overlap, e.g. database time is also part of the handler time.
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+
+        SECURITY("sec", "Security"),
+
+        HANDLER("app", "Handler"),
+
+        DB("db", "Database"),
+
+        // ビュー名の解決も含む
+        RENDER("view", "View render");
+
+        private final String metricName;
+
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt;
+
+    private final long[] elapsed = new long[PHASES.length];
+
+    private final long[] phaseStartedAt = new long[PHASES.length];
+
+    private final boolean[] running = new boolean[PHASES.length];
+
+    ServerTiming(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * @return the timing of the request being processed on the current thread, or {@code null} outside a request
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public void start(Phase phase) {
+        int i = phase.ordinal();
+        if (!running[i]) {
+            running[i] = true;
+            phaseStartedAt[i] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stops the phase; does nothing if it is not running.
+     */
+    public void stop(Phase phase) {
+        int i = phase.ordinal();
+        if (running[i]) {
+            running[i] = false;
+            elapsed[i] += System.nanoTime() - phaseStartedAt[i];
+        }
+    }
+
+    /**
+     * @return the time spent in the phase until {@code now}, including a run still in progress
+     */
+    public long getNanos(Phase phase, long now) {
+        int i = phase.ordinal();
+        return running[i] ? elapsed[i] + now - phaseStartedAt[i] : elapsed[i];
+    }
+
+    public long getTotalNanos(long now) {
+        return now - startedAt;
+    }
+
+    /**
+     * Formats the phases that have run as a {@code Server-Timing} header value, e.g.
+     * {@code sec;desc="Security";dur=0.412, total;dur=3.150}.
+     */
+    public String toHeaderValue(long now) {
+        StringBuilder value = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long nanos = getNanos(phase, now);
+            if (nanos > 0) {
+                value.append(phase.metricName).append(";desc=\"").append(phase.description).append("\";dur=");
+                appendMillis(value, nanos).append(", ");
+            }
+        }
+        value.append("total;dur=");
+        return appendMillis(value, getTotalNanos(now)).toString();
+    }
+
+    /**
+     * Appends the phases in {@code key=value} form for the access log, e.g. {@code total=3.150 sec=0.412 ...}.
+     */
+    public StringBuilder appendTo(StringBuilder line, long now) {
+        appendMillis(line.append("total="), getTotalNanos(now));
+        for (Phase phase : PHASES) {
+            appendMillis(line.append(' ').append(phase.metricName).append('='), getNanos(phase, now));
+        }
+        return line;
+    }
+
+    // String.formatを使わず、ミリ秒(小数点以下3桁)で書き出す
+    static StringBuilder appendMillis(StringBuilder target, long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        target.append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            target.append('0');
+        }
+        if (fraction < 10) {
+            target.append('0');
+        }
+        return target.append(fraction);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.todoapp.common.timing;
+
+import com.example.todoapp.common.sql.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Measures each request, adds a {@code Server-Timing} header just before the response is committed,
+ * and writes one access log line per request to the {@value #ACCESS_LOGGER} logger. The number of SQL
+ * statements in the access log is taken from the {@link SqlStatementCounter}.
+ * <p>
+ * A phase still running at commit time, such as a view streamed past the response buffer, is reported
+ * up to that point in the header; the access log has the final numbers.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String ACCESS_LOGGER = "todo.access";
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger accessLogger = LoggerFactory.getLogger(ACCESS_LOGGER);
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public ServerTimingFilter(SqlStatementCounter sqlStatementCounter) {
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.begin();
+        ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, timing);
+        // 件数の上限は設けない(警告はSqlStatementCountFilterが行う)
+        SqlStatementCounter.Scope statements = sqlStatementCounter.open("server-timing");
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, wrapper);
+            failed = false;
+        } finally {
+            statements.close();
+            ServerTiming.end();
+            wrapper.commitServerTiming();
+            if (accessLogger.isInfoEnabled()) {
+                // 例外はこの後コンテナが500に変換するため、その時点のステータスではなく500を記録する
+                int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                StringBuilder line = new StringBuilder(192)
+                        .append("method=").append(request.getMethod())
+                        .append(" uri=").append(request.getRequestURI())
+                        .append(" status=").append(status).append(' ');
+                if (request.isAsyncStarted()) {
+                    line.append("async=true ");
+                }
+                timing.appendTo(line, System.nanoTime()).append(" db_statements=").append(statements.getCount());
+                accessLogger.info(line.toString());
+            }
+        }
+    }
+
+    private static final class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final ServerTiming timing;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(SERVER_TIMING_HEADER, timing.toHeaderValue(System.nanoTime()));
+        }
+
+        void commitServerTiming() {
+            // 本文のないレスポンス等、処理中にコミットされなかった場合
+            if (!isDisableOnResponseCommitted() && !isCommitted()) {
+                onResponseCommitted();
+                disableOnResponseCommitted();
+            }
+        }
+    }
+}
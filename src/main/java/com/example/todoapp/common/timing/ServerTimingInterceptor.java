@@ -0,0 +1,44 @@
+package com.example.todoapp.common.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Times the handler and the view rendering that follows it.
+ */
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.start(ServerTiming.Phase.HANDLER);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.stop(ServerTiming.Phase.HANDLER);
+            if (modelAndView != null) {
+                timing.start(ServerTiming.Phase.RENDER);
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            // 例外時はpostHandleが呼ばれない
+            timing.stop(ServerTiming.Phase.HANDLER);
+            timing.stop(ServerTiming.Phase.RENDER);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.todoapp.common.timing;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Starts or stops a {@link ServerTiming.Phase} when the request reaches this filter.
+ * A pair of these placed around another filter, such as the Spring Security filter chain, times it.
+ * A phase stopped by no later filter, e.g. because the request was rejected, runs until the request ends.
+ */
+public class ServerTimingPhaseFilter implements Filter {
+
+    private final ServerTiming.Phase phase;
+
+    private final boolean start;
+
+    public ServerTimingPhaseFilter(ServerTiming.Phase phase, boolean start) {
+        this.phase = phase;
+        this.start = start;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            if (start) {
+                timing.start(phase);
+            } else {
+                timing.stop(phase);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.todoapp.common.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time Hibernate spends on JDBC to the {@link ServerTiming.Phase#DB} phase of the current request.
+ * Hibernate creates one instance per session. Statements are counted by the {@code SqlStatementCounter}.
+ */
+public class ServerTimingSessionEventListener implements SessionEventListener {
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        stop();
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        stop();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        stop();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        stop();
+    }
+
+    private static void start() {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.start(ServerTiming.Phase.DB);
+        }
+    }
+
+    private static void stop() {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.stop(ServerTiming.Phase.DB);
+        }
+    }
+}
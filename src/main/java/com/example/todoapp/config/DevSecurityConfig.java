@@ -1,10 +1,12 @@
 package com.example.todoapp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
@@ -13,7 +15,8 @@ import org.springframework.security.web.SecurityFilterChain;
 public class DevSecurityConfig {
 
     @Bean
-    public SecurityFilterChain devFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain devFilterChain(HttpSecurity http,
+            @Value("${todo.security.stateless:false}") boolean stateless) throws Exception {
         http
             // 認証設定（開発環境）
             .authorizeHttpRequests(authz -> authz
@@ -37,10 +40,16 @@ public class DevSecurityConfig {
             )
             
             // セッション管理
-            .sessionManagement(session -> session
-                .maximumSessions(5) // 開発環境では多めに許可
-                .maxSessionsPreventsLogin(false)
-            );
+            .sessionManagement(session -> {
+                if (stateless) {
+                    // HttpSessionを作成せず、SessionRegistry/ConcurrentSessionFilterも登録しない
+                    session.sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+                } else {
+                    session
+                        .maximumSessions(5) // 開発環境では多めに許可
+                        .maxSessionsPreventsLogin(false);
+                }
+            });
 
         return http.build();
     }
@@ -0,0 +1,32 @@
+package com.example.todoapp.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+
+/**
+ * Supplies the Caffeine JCache {@link CacheManager} backing the Hibernate second-level cache.
+ * Region settings live in {@code hibernate-cache.conf}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    static final URI CACHE_CONFIG_URI = URI.create("classpath:hibernate-cache.conf");
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer() {
+        return properties -> {
+            // CachingProviderはURI毎にCacheManagerをJVM内で共有するため、アプリケーションコンテキスト毎に
+            // 専用のプロバイダから生成し、別のデータソースを持つコンテキスト間でキャッシュが混ざらないようにする
+            // (CacheManagerはSessionFactoryの終了時にHibernateがクローズする)
+            CacheManager cacheManager = new CaffeineCachingProvider()
+                    .getCacheManager(CACHE_CONFIG_URI, HibernateCacheConfig.class.getClassLoader());
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.todoapp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 
@@ -13,7 +15,8 @@ import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWrite
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+            @Value("${todo.security.stateless:false}") boolean stateless) throws Exception {
         http
             // 認証設定（本番環境）
             .authorizeHttpRequests(authz -> authz
@@ -39,10 +42,16 @@ public class SecurityConfig {
             )
             
             // セッション管理
-            .sessionManagement(session -> session
-                .maximumSessions(1) // 同時ログイン数制限
-                .maxSessionsPreventsLogin(false) // 新しいセッションを優先
-            );
+            .sessionManagement(session -> {
+                if (stateless) {
+                    // HttpSessionを作成せず、SessionRegistry/ConcurrentSessionFilterも登録しない
+                    session.sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+                } else {
+                    session
+                        .maximumSessions(1) // 同時ログイン数制限
+                        .maxSessionsPreventsLogin(false); // 新しいセッションを優先
+                }
+            });
 
         return http.build();
     }
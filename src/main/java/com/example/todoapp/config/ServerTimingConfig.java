@@ -0,0 +1,71 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.common.sql.SqlStatementCounter;
+import com.example.todoapp.common.timing.ServerTiming;
+import com.example.todoapp.common.timing.ServerTimingFilter;
+import com.example.todoapp.common.timing.ServerTimingInterceptor;
+import com.example.todoapp.common.timing.ServerTimingPhaseFilter;
+import com.example.todoapp.common.timing.ServerTimingSessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Times the security filter chain, the handler, JDBC and view rendering of each request, reported in a
+ * {@code Server-Timing} header and the {@value ServerTimingFilter#ACCESS_LOGGER} log.
+ * Turned off with {@code todo.server-timing.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    /**
+     * Order of the {@code Server-Timing} filter: the outermost filter, so that the total covers every other one.
+     */
+    public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(SqlStatementCounter sqlStatementCounter) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(sqlStatementCounter));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingPhaseFilter> securityTimingStartFilter() {
+        FilterRegistrationBean<ServerTimingPhaseFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingPhaseFilter(ServerTiming.Phase.SECURITY, true));
+        // Spring Securityのフィルタチェーン(spring.security.filter.order)の直前と直後で計測する
+        registration.setName("securityTimingStartFilter");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingPhaseFilter> securityTimingStopFilter() {
+        FilterRegistrationBean<ServerTimingPhaseFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingPhaseFilter(ServerTiming.Phase.SECURITY, false));
+        registration.setName("securityTimingStopFilter");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer serverTimingSessionEventsCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                ServerTimingSessionEventListener.class.getName());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor()).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.common.sql.SqlStatementCountFilter;
+import com.example.todoapp.common.sql.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers the {@link SqlStatementCounter} with Hibernate and counts statements per request.
+ * Limits are set with the {@code todo.sql.*} properties.
+ */
+@Configuration
+public class SqlStatementConfig {
+
+    /**
+     * Order of the request counting filter: just inside the {@code Server-Timing} filter.
+     */
+    public static final int FILTER_ORDER = ServerTimingConfig.FILTER_ORDER + 1;
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(
+            @Value("${todo.sql.max-statements-per-transaction:0}") int maxStatementsPerTransaction,
+            @Value("${todo.sql.repeated-statement-threshold:0}") int repeatedStatementThreshold) {
+        return new SqlStatementCounter(maxStatementsPerTransaction, repeatedStatementThreshold);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(
+            SqlStatementCounter sqlStatementCounter,
+            @Value("${todo.sql.max-statements-per-request:0}") int maxStatementsPerRequest,
+            @Value("${todo.sql.excluded-paths:}") List<String> excludedPaths) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementCountFilter(sqlStatementCounter, maxStatementsPerRequest, excludedPaths));
+        // セキュリティフィルタ等を含めたリクエスト全体を計測する
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
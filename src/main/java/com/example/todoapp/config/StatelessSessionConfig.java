@@ -0,0 +1,43 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.common.flash.CookieFlashMapManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMapManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * Opt-in stateless mode: no {@code HttpSession} is created for any request.
+ * <p>
+ * Activate it together with an environment profile, e.g. {@code --spring.profiles.active=prod,stateless}
+ * ({@code todo.security.stateless=true} in {@code application-stateless.properties}). The security
+ * configurations then drop the session registry and concurrent session control, CSRF tokens stay in the
+ * {@code XSRF-TOKEN} cookie, and flash attributes move to a signed cookie ({@link CookieFlashMapManager}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.security.stateless", havingValue = "true")
+public class StatelessSessionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatelessSessionConfig.class);
+
+    @Bean(DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+    public FlashMapManager flashMapManager(@Value("${todo.flash.cookie-secret:}") String cookieSecret) {
+        byte[] secret;
+        if (cookieSecret.isEmpty()) {
+            // 起動毎に生成した鍵では、再起動や別ノードをまたいだリダイレクトでフラッシュ属性が失われる
+            logger.warn("todo.flash.cookie-secret is not set; flash cookies are signed with a per-process key.");
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = cookieSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        return new CookieFlashMapManager(secret);
+    }
+}
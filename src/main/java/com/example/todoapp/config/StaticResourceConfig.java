@@ -0,0 +1,46 @@
+package com.example.todoapp.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves {@code /css/**} and {@code /js/**} under content-hashed URLs with a one-year, immutable
+ * {@code Cache-Control}, preferring the {@code .br}/{@code .gz} variants generated by the build.
+ * <p>
+ * Links written with {@code @{/css/style.css}} in the templates are rewritten to the hashed URL
+ * (e.g. {@code /css/style-<md5>.css}) by the {@link ResourceUrlEncodingFilter}.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    static final String[] DIRECTORIES = {"css", "js"};
+
+    static final CacheControl CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String directory : DIRECTORIES) {
+            registry.addResourceHandler("/" + directory + "/**")
+                    .addResourceLocations("classpath:/static/" + directory + "/")
+                    .setCacheControl(CACHE_CONTROL)
+                    .resourceChain(true)
+                    // 圧縮済みファイル(mvn process-resourcesで生成)があればAccept-Encodingに応じて返す
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        return new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+    }
+}
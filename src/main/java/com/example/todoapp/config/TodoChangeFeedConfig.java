@@ -0,0 +1,50 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.api.todo.TodoChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link TodoChangeFeed} behind {@code GET /api/todos/events}. Events are written to the streams by
+ * {@code todo.change-feed.sender-threads} threads, however many streams are open, plus one for each write
+ * blocked longer than {@code todo.change-feed.send-timeout}.
+ */
+@Configuration
+public class TodoChangeFeedConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public TodoChangeFeed todoChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${todo.change-feed.sender-threads:4}") int senderThreads,
+            @Value("${todo.change-feed.buffer-size:256}") int bufferSize,
+            @Value("${todo.change-feed.replay-capacity:4096}") int replayCapacity,
+            @Value("${todo.change-feed.replay-max-size:8MB}") DataSize replayMaxSize,
+            @Value("${todo.change-feed.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${todo.change-feed.send-timeout:10s}") Duration sendTimeout) {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), task -> daemon(task, "todo-change-feed-" + threads.incrementAndGet()));
+        // 送信スレッドが全て書き込みで止まっても、止まった購読者を検出できるよう別のスレッドで動かす
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                task -> daemon(task, "todo-change-feed-timer"));
+        return new TodoChangeFeed(objectMapper, meterRegistry, senders, scheduler, bufferSize, replayCapacity,
+                replayMaxSize.toBytes(), heartbeatInterval, sendTimeout);
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
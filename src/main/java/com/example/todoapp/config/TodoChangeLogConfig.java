@@ -0,0 +1,49 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.domain.repository.TodoChangeRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.service.TodoChangeLog;
+import com.example.todoapp.domain.service.TodoChangePoller;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Opt-in cache coherence between application nodes sharing one database ({@code todo.change-log.enabled=true}).
+ * <p>
+ * Every committed change is recorded in the {@code todo_change} table by {@link TodoChangeLog}, and each node's
+ * {@link TodoChangePoller} applies the changes of the other nodes to its local caches. The polling, gap and
+ * retention limits are set with the other {@code todo.change-log.*} properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.change-log.enabled", havingValue = "true")
+public class TodoChangeLogConfig {
+
+    @Bean
+    public TodoChangeLog todoChangeLog(TodoChangeRepository todoChangeRepository,
+            @Value("${todo.change-log.node-id:}") String nodeId) {
+        // 未指定の場合は起動毎に別ノードとして扱う
+        return new TodoChangeLog(todoChangeRepository,
+                StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString());
+    }
+
+    @Bean(initMethod = "initialize", destroyMethod = "close")
+    public TodoChangePoller todoChangePoller(TodoChangeLog todoChangeLog, TodoChangeRepository todoChangeRepository,
+            TodoRepository todoRepository, ApplicationEventPublisher eventPublisher,
+            EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry,
+            @Value("${todo.change-log.poll-interval:200ms}") Duration pollInterval,
+            @Value("${todo.change-log.gap-timeout:30s}") Duration gapTimeout,
+            @Value("${todo.change-log.retention:1h}") Duration retention,
+            @Value("${todo.change-log.batch-size:500}") int batchSize) {
+        return new TodoChangePoller(todoChangeRepository, todoRepository, eventPublisher, entityManagerFactory,
+                meterRegistry, todoChangeLog.getNodeId(), pollInterval, gapTimeout, retention, batchSize);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.common.sql.SqlStatementCounter;
+import com.example.todoapp.domain.service.TodoServiceImpl;
+import com.example.todoapp.domain.service.TodoWritePipeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Opt-in group commit for single-todo writes ({@code todo.write-pipeline.enabled=true}).
+ * <p>
+ * The {@link TodoWritePipeline} becomes the primary {@code TodoService}, so the create, finish and delete
+ * calls of the controllers are queued and committed together. The queue, batch and wait limits are set
+ * with the other {@code todo.write-pipeline.*} properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.write-pipeline.enabled", havingValue = "true")
+public class TodoWritePipelineConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @Primary
+    public TodoWritePipeline todoWritePipeline(TodoServiceImpl todoServiceImpl,
+            TransactionTemplate transactionTemplate, SqlStatementCounter sqlStatementCounter,
+            MeterRegistry meterRegistry,
+            @Value("${todo.write-pipeline.queue-capacity:1024}") int queueCapacity,
+            @Value("${todo.write-pipeline.max-batch-size:64}") int maxBatchSize,
+            @Value("${todo.write-pipeline.linger:300us}") Duration linger,
+            @Value("${todo.write-pipeline.offer-timeout:100ms}") Duration offerTimeout) {
+        return new TodoWritePipeline(todoServiceImpl, transactionTemplate, sqlStatementCounter, meterRegistry,
+                queueCapacity, maxBatchSize, linger, offerTimeout);
+    }
+}
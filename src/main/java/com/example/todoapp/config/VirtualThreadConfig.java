@@ -0,0 +1,35 @@
+package com.example.todoapp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Opt-in profile that runs request handling and async work on virtual threads.
+ * <p>
+ * Activate it together with an environment profile, e.g. {@code --spring.profiles.active=prod,vthreads}.
+ * The executors themselves are switched by Spring Boot ({@code spring.threads.virtual.enabled} in
+ * {@code application-vthreads.properties}): Tomcat's request executor and {@code applicationTaskExecutor},
+ * which runs {@code @Async} methods and the streaming export. Boot only does so on JDK 21+, so on an
+ * older runtime the application keeps the platform thread pools.
+ */
+@Configuration
+@Profile("vthreads")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @PostConstruct
+    public void reportExecutionModel() {
+        if (JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            logger.info("Requests and async tasks run on virtual threads.");
+        } else {
+            // 起動は止めず、プラットフォームスレッドのまま動作させる
+            logger.warn("The vthreads profile requires JDK 21 or later (running on {}); "
+                    + "requests and async tasks stay on platform threads.", JavaVersion.getJavaVersion());
+        }
+    }
+}
@@ -1,22 +1,47 @@
 package com.example.todoapp.domain.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "todo")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "todo")
+@Table(name = "todo", indexes = {
+        // 所有者毎のキーセットページング (createdAt DESC, todoId DESC) 用
+        @Index(name = "idx_todo_owner_created_at_todo_id", columnList = "owner, createdAt DESC, todoId DESC"),
+        // 所有者毎の未完了/完了件数 用
+        @Index(name = "idx_todo_owner_finished_created_at", columnList = "owner, finished, createdAt")
+})
 public class Todo implements Serializable {
 
+    /**
+     * Owner of the todos created without an authenticated user; all such requests share one list.
+     */
+    public static final String ANONYMOUS_OWNER = "anonymous";
+
+    // IDENTITYはINSERT毎に採番結果を返す必要がありJDBCバッチが無効になるため、シーケンス(pooled-lo)で採番する
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = 50)
     private Long todoId;
 
+    @Column(nullable = false, length = 64, updatable = false)
+    private String owner = ANONYMOUS_OWNER;
+
     @Column(nullable = false, length = 30)
     private String todoTitle;
 
@@ -26,8 +51,13 @@ public class Todo implements Serializable {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    // 条件付きUPDATEでも加算し、読み込み済みエンティティの保存による後勝ち上書きを防ぐ
+    @Version
+    private long version;
+
     public Todo() {
-        this.createdAt = LocalDateTime.now();
+        // DBのTIMESTAMP精度(マイクロ秒)に揃え、保存前後でキーセットの順序・カーソルが変わらないようにする
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public Todo(String todoTitle) {
@@ -43,6 +73,14 @@ public class Todo implements Serializable {
         this.todoId = todoId;
     }
 
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
     public String getTodoTitle() {
         return todoTitle;
     }
@@ -64,13 +102,23 @@ public class Todo implements Serializable {
     }
 
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        // コンストラクタと同様、DBに保存される精度に揃える(取り込んだ日時等)
+        this.createdAt = (createdAt == null) ? null : createdAt.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
     }
 
     @Override
     public String toString() {
         return "Todo{" +
                 "todoId=" + todoId +
+                ", owner='" + owner + '\'' +
                 ", todoTitle='" + todoTitle + '\'' +
                 ", finished=" + finished +
                 ", createdAt=" + createdAt +
@@ -0,0 +1,130 @@
+package com.example.todoapp.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One committed change to the {@code todo} table, recorded in the same transaction as the change itself,
+ * so that other nodes sharing the database can invalidate their local caches.
+ */
+@Entity
+@Table(name = "todo_change", indexes = {
+        // 保持期間を過ぎた行の削除用
+        @Index(name = "idx_todo_change_changed_at", columnList = "changedAt")
+})
+public class TodoChange implements Serializable {
+
+    /**
+     * Most ids one row holds, so that {@code todoIds} fits its column; larger changes take several rows.
+     */
+    public static final int MAX_IDS_PER_ROW = 200;
+
+    // 全ノードで単調増加する値で読み進めるため、ノード毎に採番範囲を先取りするpooled-loではなくIDENTITYを使う
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequence;
+
+    @Column(nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(nullable = false, length = 16)
+    private String changeType;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    // カンマ区切りのtodoId
+    @Column(nullable = false, length = 4000)
+    private String todoIds;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public TodoChange() {
+    }
+
+    public TodoChange(String nodeId, String changeType, String owner, Collection<Long> todoIds) {
+        this.nodeId = nodeId;
+        this.changeType = changeType;
+        this.owner = owner;
+        this.todoIds = todoIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        this.changedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public List<Long> todoIdList() {
+        return Arrays.stream(todoIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(String changeType) {
+        this.changeType = changeType;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public String getTodoIds() {
+        return todoIds;
+    }
+
+    public void setTodoIds(String todoIds) {
+        this.todoIds = todoIds;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoChange{" +
+                "sequence=" + sequence +
+                ", nodeId='" + nodeId + '\'' +
+                ", changeType='" + changeType + '\'' +
+                ", owner='" + owner + '\'' +
+                ", todoIds='" + todoIds + '\'' +
+                ", changedAt=" + changedAt +
+                '}';
+    }
+}
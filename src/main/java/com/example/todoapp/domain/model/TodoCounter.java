@@ -0,0 +1,74 @@
+package com.example.todoapp.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+
+/**
+ * Maintained aggregate over the {@code todo} table, so that admission checks
+ * do not have to run {@code SELECT COUNT} on every request. Each owner has its own row,
+ * so admissions of different owners never wait for each other.
+ */
+@Entity
+@Table(name = "todo_counter")
+public class TodoCounter implements Serializable {
+
+    public static final String UNFINISHED = "unfinished";
+
+    private static final String UNFINISHED_PREFIX = UNFINISHED + ":";
+
+    @Id
+    @Column(length = 128)
+    private String counterKey;
+
+    @Column(nullable = false)
+    private long counterValue;
+
+    public TodoCounter() {
+    }
+
+    public TodoCounter(String counterKey, long counterValue) {
+        this.counterKey = counterKey;
+        this.counterValue = counterValue;
+    }
+
+    /**
+     * Key of the row counting the unfinished todos of {@code owner}.
+     */
+    public static String unfinishedKey(String owner) {
+        return UNFINISHED_PREFIX + owner;
+    }
+
+    /**
+     * The owner whose unfinished todos {@code counterKey} counts, or {@code null} for any other key.
+     */
+    public static String ownerOf(String counterKey) {
+        return counterKey.startsWith(UNFINISHED_PREFIX) ? counterKey.substring(UNFINISHED_PREFIX.length()) : null;
+    }
+
+    public String getCounterKey() {
+        return counterKey;
+    }
+
+    public void setCounterKey(String counterKey) {
+        this.counterKey = counterKey;
+    }
+
+    public long getCounterValue() {
+        return counterValue;
+    }
+
+    public void setCounterValue(long counterValue) {
+        this.counterValue = counterValue;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoCounter{" +
+                "counterKey='" + counterKey + '\'' +
+                ", counterValue=" + counterValue +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.todoapp.domain.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in the TODO list, ordered by {@code (createdAt DESC, todoId DESC)}.
+ * A page starting from this cursor contains only rows strictly after it.
+ */
+public class TodoCursor implements Serializable {
+
+    private static final char SEPARATOR = '_';
+
+    private final LocalDateTime createdAt;
+
+    private final Long todoId;
+
+    public TodoCursor(LocalDateTime createdAt, Long todoId) {
+        if (createdAt == null || todoId == null) {
+            throw new IllegalArgumentException("createdAt and todoId must not be null");
+        }
+        this.createdAt = createdAt;
+        this.todoId = todoId;
+    }
+
+    public static TodoCursor of(TodoSummary todo) {
+        return new TodoCursor(todo.getCreatedAt(), todo.getTodoId());
+    }
+
+    /**
+     * Parses a token produced by {@link #toToken()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TodoCursor parse(String token) {
+        int index = token.lastIndexOf(SEPARATOR);
+        if (index <= 0 || index == token.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        try {
+            return new TodoCursor(LocalDateTime.parse(token.substring(0, index)),
+                    Long.valueOf(token.substring(index + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String toToken() {
+        return createdAt.toString() + SEPARATOR + todoId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoCursor{" +
+                "createdAt=" + createdAt +
+                ", todoId=" + todoId +
+                '}';
+    }
+}
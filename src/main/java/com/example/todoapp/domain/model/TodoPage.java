@@ -0,0 +1,52 @@
+package com.example.todoapp.domain.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One keyset page of the TODO list and the cursor to fetch the following page.
+ */
+public class TodoPage implements Serializable {
+
+    private final List<TodoSummary> todos;
+
+    private final TodoCursor nextCursor;
+
+    public TodoPage(List<TodoSummary> todos, TodoCursor nextCursor) {
+        this.todos = Collections.unmodifiableList(todos);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from a query result that was fetched with {@code size + 1} rows,
+     * so the extra row only tells whether a following page exists.
+     */
+    public static TodoPage of(List<TodoSummary> rows, int size) {
+        if (rows.size() <= size) {
+            return new TodoPage(rows, null);
+        }
+        List<TodoSummary> todos = rows.subList(0, size);
+        return new TodoPage(todos, TodoCursor.of(todos.get(size - 1)));
+    }
+
+    public List<TodoSummary> getTodos() {
+        return todos;
+    }
+
+    public TodoCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoPage{" +
+                "todos=" + todos.size() +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.todoapp.domain.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Immutable, read-only view of a {@link Todo} for the list and export paths.
+ * <p>
+ * Repository queries select it with a constructor expression, so reading a page or streaming the
+ * table instantiates no entity: nothing is added to the persistence context, no snapshot is kept for
+ * dirty checking and the {@link Todo} constructor does not run.
+ */
+public final class TodoSummary implements Serializable {
+
+    private final Long todoId;
+
+    private final String todoTitle;
+
+    private final boolean finished;
+
+    private final LocalDateTime createdAt;
+
+    public TodoSummary(Long todoId, String todoTitle, boolean finished, LocalDateTime createdAt) {
+        this.todoId = todoId;
+        this.todoTitle = todoTitle;
+        this.finished = finished;
+        this.createdAt = createdAt;
+    }
+
+    public static TodoSummary of(Todo todo) {
+        return new TodoSummary(todo.getTodoId(), todo.getTodoTitle(), todo.isFinished(), todo.getCreatedAt());
+    }
+
+    /**
+     * Returns this todo marked as finished.
+     */
+    public TodoSummary finish() {
+        return finished ? this : new TodoSummary(todoId, todoTitle, true, createdAt);
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public String getTodoTitle() {
+        return todoTitle;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TodoSummary)) {
+            return false;
+        }
+        TodoSummary that = (TodoSummary) o;
+        return finished == that.finished && Objects.equals(todoId, that.todoId)
+                && Objects.equals(todoTitle, that.todoTitle) && Objects.equals(createdAt, that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(todoId, todoTitle, finished, createdAt);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoSummary{" +
+                "todoId=" + todoId +
+                ", todoTitle='" + todoTitle + '\'' +
+                ", finished=" + finished +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todoapp.domain.repository;
+
+import com.example.todoapp.domain.model.TodoChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TodoChangeRepository extends JpaRepository<TodoChange, Long> {
+
+    @Transactional(readOnly = true)
+    @Query("SELECT c FROM TodoChange c WHERE c.sequence > :sequence ORDER BY c.sequence LIMIT :limit")
+    List<TodoChange> findAfter(@Param("sequence") long sequence, @Param("limit") int limit);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT COALESCE(MAX(c.sequence), 0) FROM TodoChange c")
+    long findLastSequence();
+
+    @Transactional(readOnly = true)
+    @Query("SELECT c.sequence FROM TodoChange c WHERE c.sequence > :from AND c.sequence <= :to")
+    List<Long> findSequencesBetween(@Param("from") long from, @Param("to") long to);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TodoChange c WHERE c.changedAt < :changedAt")
+    int deleteChangedBefore(@Param("changedAt") LocalDateTime changedAt);
+}
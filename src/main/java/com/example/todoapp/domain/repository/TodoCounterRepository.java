@@ -0,0 +1,40 @@
+package com.example.todoapp.domain.repository;
+
+import com.example.todoapp.domain.model.TodoCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TodoCounterRepository extends JpaRepository<TodoCounter, String> {
+
+    /**
+     * Atomically increments the counter unless it has already reached {@code max}.
+     * The row lock taken by the UPDATE serializes concurrent admissions.
+     *
+     * @return 1 if the counter was incremented, 0 if the limit was reached
+     */
+    @Modifying
+    @Query("UPDATE TodoCounter c SET c.counterValue = c.counterValue + 1"
+            + " WHERE c.counterKey = :counterKey AND c.counterValue < :max")
+    int incrementIfLessThan(@Param("counterKey") String counterKey, @Param("max") long max);
+
+    /**
+     * Reads the counter and locks its row ({@code SELECT ... FOR UPDATE}) until the end of the transaction,
+     * so that no admission, finish or delete changes it meanwhile.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TodoCounter c WHERE c.counterKey = :counterKey")
+    Optional<TodoCounter> findByIdForUpdate(@Param("counterKey") String counterKey);
+
+    @Modifying
+    @Query("UPDATE TodoCounter c SET c.counterValue = c.counterValue - :delta"
+            + " WHERE c.counterKey = :counterKey")
+    int decrement(@Param("counterKey") String counterKey, @Param("delta") long delta);
+}
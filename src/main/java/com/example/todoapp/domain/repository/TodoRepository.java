@@ -1,19 +1,127 @@
 package com.example.todoapp.domain.repository;
 
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Every query is scoped to one owner, so that no user can read or change another user's todos
+ * and each user's list is served by the indexes leading with {@code owner}.
+ */
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
 
-    @Query("SELECT COUNT(t) FROM Todo t WHERE t.finished = :finished")
-    long countByFinished(@Param("finished") boolean finished);
+    // 一覧・エクスポート用の射影。エンティティを生成せず、永続コンテキスト(スナップショット)にも載せない
+    String SELECT_SUMMARY = "SELECT new com.example.todoapp.domain.model.TodoSummary("
+            + "t.todoId, t.todoTitle, t.finished, t.createdAt) FROM Todo t";
+
+    interface TodoState {
+
+        Long getTodoId();
+
+        boolean isFinished();
+    }
+
+    interface OwnerCount {
+
+        String getOwner();
+
+        long getTodoCount();
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(t) FROM Todo t WHERE t.owner = :owner AND t.finished = :finished")
+    long countByOwnerAndFinished(@Param("owner") String owner, @Param("finished") boolean finished);
+
+    // 起動時のカウンタ再計算用。全所有者の未完了件数を1文で集計する
+    @Query("SELECT t.owner AS owner, COUNT(t) AS todoCount FROM Todo t WHERE t.finished = false GROUP BY t.owner")
+    List<OwnerCount> countUnfinishedGroupByOwner();
+
+    // 読み取りモデルの再構築用
+    @Transactional(readOnly = true)
+    @Query("SELECT DISTINCT t.owner FROM Todo t")
+    List<String> findAllOwners();
+
+    boolean existsByTodoIdAndOwner(Long todoId, String owner);
+
+    // 完了・削除は行を読み込まずに条件付きで更新し、更新件数で結果を判定する
+    // (同時実行時も条件を満たすのは1トランザクションだけのため、ロックの先行取得は不要)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.finished = true, t.version = t.version + 1"
+            + " WHERE t.todoId = :todoId AND t.owner = :owner AND t.finished = false")
+    int finishById(@Param("owner") String owner, @Param("todoId") Long todoId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.todoId = :todoId AND t.owner = :owner AND t.finished = false")
+    int deleteUnfinishedById(@Param("owner") String owner, @Param("todoId") Long todoId);
+
+    // JpaRepository#deleteById はエンティティを読み込んでから削除するため、DELETE文を直接発行する
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.todoId = :todoId AND t.owner = :owner")
+    int deleteRowById(@Param("owner") String owner, @Param("todoId") Long todoId);
+
+    // 以下の射影の読み取りは、呼び出し元にトランザクションがなければ読み取り専用トランザクション
+    // (Hibernateのフラッシュなし・JDBC接続の読み取り専用)で実行する
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_SUMMARY + " WHERE t.owner = :owner ORDER BY t.createdAt DESC, t.todoId DESC")
+    List<TodoSummary> findAllSummaries(@Param("owner") String owner);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_SUMMARY + " WHERE t.todoId = :todoId AND t.owner = :owner")
+    Optional<TodoSummary> findSummaryById(@Param("owner") String owner, @Param("todoId") Long todoId);
+
+    // 他ノードで作成されたTODOの読み取りモデルへの反映用
+    @Transactional(readOnly = true)
+    @Query(SELECT_SUMMARY + " WHERE t.todoId IN :todoIds AND t.owner = :owner")
+    List<TodoSummary> findSummariesByIds(@Param("owner") String owner, @Param("todoIds") Collection<Long> todoIds);
+
+    // Pageable/Limit はOFFSET句を生成するため、件数はクエリ内のLIMITで指定する
+    // 結果はクエリキャッシュに載せ、todoテーブルの更新時に無効化される
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + " WHERE t.owner = :owner ORDER BY t.createdAt DESC, t.todoId DESC LIMIT :limit")
+    List<TodoSummary> findFirstPage(@Param("owner") String owner, @Param("limit") int limit);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY
+            + " WHERE t.owner = :owner"
+            + " AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.todoId < :todoId))"
+            + " ORDER BY t.createdAt DESC, t.todoId DESC LIMIT :limit")
+    List<TodoSummary> findPageAfter(@Param("owner") String owner, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("todoId") Long todoId, @Param("limit") int limit);
+
+    // エクスポート用。結果セットをfetch size単位で読み進め、全件をメモリに載せない
+    // (ストリームは呼び出し元の読み取り専用トランザクション内で読み切る)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_SUMMARY + " WHERE t.owner = :owner ORDER BY t.createdAt DESC, t.todoId DESC")
+    Stream<TodoSummary> streamByOwnerOrderByCreatedAtDesc(@Param("owner") String owner);
 
-    List<Todo> findAllByOrderByCreatedAtDesc();
+    // 一括完了・一括削除の結果判定用。エンティティを生成せず、対象行をロックする
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.todoId AS todoId, t.finished AS finished FROM Todo t"
+            + " WHERE t.todoId IN :todoIds AND t.owner = :owner")
+    List<TodoState> findStatesForUpdate(@Param("owner") String owner, @Param("todoIds") Collection<Long> todoIds);
 
-    List<Todo> findByFinishedOrderByCreatedAtDesc(boolean finished);
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.finished = true, t.version = t.version + 1"
+            + " WHERE t.todoId IN :todoIds AND t.owner = :owner AND t.finished = false")
+    int finishAllByIds(@Param("owner") String owner, @Param("todoIds") Collection<Long> todoIds);
+}
@@ -0,0 +1,46 @@
+package com.example.todoapp.domain.service;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-id outcome of a batch finish/delete, in request order.
+ */
+public class TodoBatchResult implements Serializable {
+
+    public enum Outcome {
+        FINISHED, DELETED, NOT_FOUND, ALREADY_FINISHED
+    }
+
+    private final Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+
+    void put(Long todoId, Outcome outcome) {
+        outcomes.put(todoId, outcome);
+    }
+
+    public Map<Long, Outcome> getOutcomes() {
+        return Collections.unmodifiableMap(outcomes);
+    }
+
+    public List<Long> getTodoIds(Outcome outcome) {
+        return outcomes.entrySet().stream()
+                .filter(entry -> entry.getValue() == outcome)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public boolean hasFailures() {
+        return outcomes.containsValue(Outcome.NOT_FOUND) || outcomes.containsValue(Outcome.ALREADY_FINISHED);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoBatchResult{" +
+                "outcomes=" + outcomes +
+                '}';
+    }
+}
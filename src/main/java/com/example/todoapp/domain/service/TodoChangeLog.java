@@ -0,0 +1,44 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.TodoChange;
+import com.example.todoapp.domain.repository.TodoChangeRepository;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every local {@link TodoChangedEvent} in the {@code todo_change} table, in the transaction of the
+ * change, so that a rolled-back change leaves no record. {@link TodoChangePoller}s on the other nodes read
+ * the records to invalidate their local caches.
+ */
+public class TodoChangeLog {
+
+    private final TodoChangeRepository todoChangeRepository;
+
+    private final String nodeId;
+
+    public TodoChangeLog(TodoChangeRepository todoChangeRepository, String nodeId) {
+        this.todoChangeRepository = todoChangeRepository;
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // TodoServiceImplのトランザクション内で同期的に呼ばれる
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        List<Long> todoIds = event.getTodoIds();
+        List<TodoChange> changes = new ArrayList<>();
+        for (int from = 0; from < todoIds.size(); from += TodoChange.MAX_IDS_PER_ROW) {
+            List<Long> ids = todoIds.subList(from, Math.min(from + TodoChange.MAX_IDS_PER_ROW, todoIds.size()));
+            changes.add(new TodoChange(nodeId, event.getType().name(), event.getOwner(), ids));
+        }
+        todoChangeRepository.saveAll(changes);
+    }
+}
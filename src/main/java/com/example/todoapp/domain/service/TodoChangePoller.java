@@ -0,0 +1,240 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoChange;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoChangeRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the {@code todo_change} table by sequence and republishes the changes of other nodes as
+ * {@linkplain TodoChangedEvent#isRemote() remote} {@link TodoChangedEvent}s, after evicting the changed
+ * todos from the Hibernate second-level cache. The read model and {@link TodoRevision} then catch up
+ * like they do for local changes.
+ * <p>
+ * Sequences are assigned on insert, not on commit, so a sequence may become visible after higher ones.
+ * A missing sequence is therefore read again on every poll until it appears, or until {@code gapTimeout}
+ * passes and it is taken to belong to a rolled-back transaction. Records older than {@code retention}
+ * are deleted.
+ * <p>
+ * The start position is read by {@link #initialize()}, before the {@link TodoReadModel} loads the table, and
+ * the last {@code batchSize} sequences up to it are tracked like later gaps. Polling starts once the context
+ * has been refreshed and the event listeners are registered.
+ */
+public class TodoChangePoller {
+
+    static final String APPLIED_METRIC = "todo.change-log.applied";
+
+    static final String LAG_METRIC = "todo.change-log.lag";
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoChangePoller.class);
+
+    private final TodoChangeRepository todoChangeRepository;
+
+    private final TodoRepository todoRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final String nodeId;
+
+    private final long pollIntervalMillis;
+
+    private final long gapTimeoutNanos;
+
+    private final Duration retention;
+
+    private final int batchSize;
+
+    private final Counter applied;
+
+    private final Timer lag;
+
+    private final Thread poller = new Thread(this::run, "todo-change-poller");
+
+    private volatile boolean running;
+
+    // 以下はpollerスレッド(またはpollの呼び出し元)だけが更新する
+    // これ以下の番号は処理済み(または欠番と判断済み)
+    private long position;
+
+    // positionより大きい処理済みの番号
+    private final NavigableSet<Long> seen = new TreeSet<>();
+
+    // 未コミットの可能性がある欠番と、待ち合わせの期限(System.nanoTime)
+    private final Map<Long, Long> gapDeadlines = new HashMap<>();
+
+    private long lastPurge = System.nanoTime();
+
+    public TodoChangePoller(TodoChangeRepository todoChangeRepository, TodoRepository todoRepository,
+                            ApplicationEventPublisher eventPublisher, EntityManagerFactory entityManagerFactory,
+                            MeterRegistry meterRegistry, String nodeId, Duration pollInterval,
+                            Duration gapTimeout, Duration retention, int batchSize) {
+        this.todoChangeRepository = todoChangeRepository;
+        this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.nodeId = nodeId;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.applied = Counter.builder(APPLIED_METRIC).description("Changes of other nodes applied to local caches")
+                .register(meterRegistry);
+        this.lag = Timer.builder(LAG_METRIC).description("Time from a change on another node to its local application")
+                .register(meterRegistry);
+        poller.setDaemon(true);
+    }
+
+    /**
+     * Starts after the last recorded change; the local caches are built from the database afterwards.
+     * Sequences just below it may belong to transactions that have not committed yet, so missing ones
+     * are read again like later gaps.
+     */
+    public void initialize() {
+        long last = todoChangeRepository.findLastSequence();
+        long from = Math.max(0, last - batchSize);
+        position = from;
+        // 既にコミット済みの変更は起動後に読み込むキャッシュに含まれるため、適用せずに処理済みとする
+        seen.addAll(todoChangeRepository.findSequencesBetween(from, last));
+        advance(from);
+        logger.info("Tailing the todo change log after sequence {} ({} gaps).", position, gapDeadlines.size());
+    }
+
+    // イベントリスナーの登録前に発行した変更は読み取りモデル等に届かないため、コンテキストの起動後に開始する
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        poller.start();
+    }
+
+    public void close() throws InterruptedException {
+        running = false;
+        poller.interrupt();
+        poller.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                poll();
+                purge();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to poll the todo change log after sequence {}.", position, e);
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                // 停止はrunningで判定する
+            }
+        }
+    }
+
+    /**
+     * Applies the changes recorded since the last poll.
+     *
+     * @return the number of changes of other nodes that were applied
+     */
+    int poll() {
+        long highest = seen.isEmpty() ? position : seen.last();
+        List<TodoChange> changes = new ArrayList<>(todoChangeRepository.findAfter(highest, batchSize));
+        if (!gapDeadlines.isEmpty()) {
+            changes.addAll(todoChangeRepository.findAllById(gapDeadlines.keySet()));
+        }
+        changes.sort(Comparator.comparing(TodoChange::getSequence));
+        int count = 0;
+        for (TodoChange change : changes) {
+            if (change.getSequence() <= position || !seen.add(change.getSequence())) {
+                continue;
+            }
+            gapDeadlines.remove(change.getSequence());
+            if (!nodeId.equals(change.getNodeId())) {
+                apply(change);
+                count++;
+            }
+        }
+        advance(highest);
+        return count;
+    }
+
+    private void apply(TodoChange change) {
+        TodoChangedEvent.Type type = TodoChangedEvent.Type.valueOf(change.getChangeType());
+        List<Long> todoIds = change.todoIdList();
+        // 第2レベルキャッシュには他ノードの更新が反映されないため、該当エンティティとクエリ結果を破棄する
+        Cache cache = entityManagerFactory.getCache();
+        todoIds.forEach(todoId -> cache.evict(Todo.class, todoId));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        // 作成された行は現在の状態を読み直す(既に削除されていれば含まれない)
+        List<TodoSummary> created = (type == TodoChangedEvent.Type.CREATED)
+                ? todoRepository.findSummariesByIds(change.getOwner(), todoIds)
+                : List.of();
+        applied.increment();
+        lag.record(Duration.between(change.getChangedAt(), LocalDateTime.now()));
+        eventPublisher.publishEvent(TodoChangedEvent.remote(type, change.getOwner(), todoIds, created));
+        logger.debug("Applied remote todo change: {}", change);
+    }
+
+    private void advance(long previousHighest) {
+        long now = System.nanoTime();
+        if (!seen.isEmpty()) {
+            for (long sequence = previousHighest + 1; sequence < seen.last(); sequence++) {
+                if (!seen.contains(sequence)) {
+                    gapDeadlines.putIfAbsent(sequence, now + gapTimeoutNanos);
+                }
+            }
+        }
+        while (true) {
+            long next = position + 1;
+            Long deadline = gapDeadlines.get(next);
+            if (seen.remove(next)) {
+                position = next;
+            } else if (deadline != null && now - deadline >= 0) {
+                logger.debug("Skipping todo change sequence {} that never committed.", next);
+                gapDeadlines.remove(next);
+                position = next;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void purge() {
+        long now = System.nanoTime();
+        if (now - lastPurge < PURGE_INTERVAL.toNanos()) {
+            return;
+        }
+        lastPurge = now;
+        int deleted = todoChangeRepository.deleteChangedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Purged {} todo change records older than {}.", deleted, retention);
+        }
+    }
+}
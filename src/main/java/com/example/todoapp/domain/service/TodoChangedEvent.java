@@ -0,0 +1,97 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by {@link TodoService} whenever rows of the {@code todo} table are created,
+ * finished or deleted. Every event concerns the todos of one owner. Listeners that act on
+ * committed data should use {@code @TransactionalEventListener}.
+ * <p>
+ * Changes committed by another node are published as {@linkplain #isRemote() remote} events,
+ * outside any transaction, once they have been read from the change log.
+ */
+public class TodoChangedEvent {
+
+    public enum Type {
+        CREATED, FINISHED, DELETED
+    }
+
+    private final Type type;
+
+    private final String owner;
+
+    private final List<Long> todoIds;
+
+    private final List<TodoSummary> created;
+
+    private final boolean remote;
+
+    private TodoChangedEvent(Type type, String owner, Collection<Long> todoIds, List<TodoSummary> created,
+                             boolean remote) {
+        this.type = type;
+        this.owner = owner;
+        this.todoIds = List.copyOf(todoIds);
+        this.created = List.copyOf(created);
+        this.remote = remote;
+    }
+
+    public static TodoChangedEvent created(String owner, List<Todo> todos) {
+        // エンティティはコミット後に変更され得るため、発行時点の値を保持する
+        return new TodoChangedEvent(Type.CREATED, owner, todos.stream().map(Todo::getTodoId).toList(),
+                todos.stream().map(TodoSummary::of).toList(), false);
+    }
+
+    public static TodoChangedEvent finished(String owner, Collection<Long> todoIds) {
+        return new TodoChangedEvent(Type.FINISHED, owner, todoIds, List.of(), false);
+    }
+
+    public static TodoChangedEvent deleted(String owner, Collection<Long> todoIds) {
+        return new TodoChangedEvent(Type.DELETED, owner, todoIds, List.of(), false);
+    }
+
+    /**
+     * A change committed by another node. For {@link Type#CREATED}, {@code created} holds the rows that
+     * still exist when the change is read.
+     */
+    public static TodoChangedEvent remote(Type type, String owner, Collection<Long> todoIds,
+                                          List<TodoSummary> created) {
+        return new TodoChangedEvent(type, owner, todoIds, created, true);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public List<Long> getTodoIds() {
+        return todoIds;
+    }
+
+    /**
+     * The created todos, for {@link Type#CREATED} only; empty otherwise.
+     */
+    public List<TodoSummary> getCreated() {
+        return created;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoChangedEvent{" +
+                "type=" + type +
+                ", owner='" + owner + '\'' +
+                ", todoIds=" + todoIds +
+                ", remote=" + remote +
+                '}';
+    }
+}
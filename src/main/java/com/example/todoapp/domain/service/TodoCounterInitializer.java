@@ -0,0 +1,105 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.repository.TodoRepository.OwnerCount;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reconciles the maintained counters with the {@code todo} table at startup,
+ * before the application starts accepting requests, and creates the counter of
+ * an owner on their first admission.
+ * <p>
+ * Other nodes may be admitting todos meanwhile, so each owner is counted while
+ * their counter row is locked, in a transaction of its own.
+ */
+@Component
+public class TodoCounterInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoCounterInitializer.class);
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    // カウンタ行は削除しないため、存在を確認した所有者は以降確認しない
+    // (上限到達による拒否のたびに存在確認のSQLを発行しない)
+    private final Set<String> initializedOwners = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void initialize() {
+        // 他ノードが稼働中でも上書きで数え漏れないよう、所有者毎に行ロックを取ってから数え直す
+        List<String> counterKeys = transactionTemplate.execute(status -> {
+            todoCounterRepository.findById(TodoCounter.UNFINISHED).ifPresent(counter -> {
+                // 所有者毎に分割する前の全体カウンタは使わない
+                todoCounterRepository.delete(counter);
+            });
+            return todoCounterRepository.findAll().stream().map(TodoCounter::getCounterKey).toList();
+        });
+        Set<String> owners = new HashSet<>();
+        for (String counterKey : counterKeys) {
+            String owner = TodoCounter.ownerOf(counterKey);
+            if (owner != null) {
+                transactionTemplate.executeWithoutResult(status -> todoCounterRepository.findByIdForUpdate(counterKey)
+                        .ifPresent(counter -> counter.setCounterValue(
+                                todoRepository.countByOwnerAndFinished(owner, false))));
+                owners.add(owner);
+                initializedOwners.add(owner);
+            }
+        }
+        // カウンタのない所有者は初回の受付と同じ手順で作成する(他ノードと同時に作成しても1行になる)
+        for (OwnerCount count : todoRepository.countUnfinishedGroupByOwner()) {
+            if (owners.add(count.getOwner())) {
+                initializeOwner(count.getOwner());
+            }
+        }
+        logger.info("Initialized todo counters for {} owners", owners.size());
+    }
+
+    /**
+     * Makes sure the unfinished counter of {@code owner} exists, creating it from the {@code todo} table
+     * in its own transaction if needed.
+     *
+     * @return {@code true} if the counter was not known to exist before this call, so that a failed
+     * admission should be retried
+     */
+    public boolean initializeOwner(String owner) {
+        if (initializedOwners.contains(owner)) {
+            return false;
+        }
+        String counterKey = TodoCounter.unfinishedKey(owner);
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                if (!todoCounterRepository.existsById(counterKey)) {
+                    todoCounterRepository.saveAndFlush(
+                            new TodoCounter(counterKey, todoRepository.countByOwnerAndFinished(owner, false)));
+                    logger.info("Initialized todo counter of owner {}", owner);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 同時に初期化した別のトランザクションが先に作成した
+        }
+        initializedOwners.add(owner);
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the owner of the todos the current request works on, from the Spring Security context.
+ * <p>
+ * An authenticated user owns the todos under their name. Requests without one (anonymous, or
+ * outside any request) share {@link Todo#ANONYMOUS_OWNER}.
+ */
+@Component
+public class TodoOwnerResolver {
+
+    public String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Todo.ANONYMOUS_OWNER;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the {@code todo} table, partitioned by owner and ordered like the keyset-paged list.
+ * <p>
+ * Readers get an immutable {@link Snapshot} of one owner's todos without blocking; a change replaces
+ * only the snapshot of the owner it concerns.
+ * Writers are folded in after their transaction commits: each change takes a ticket in
+ * {@code beforeCommit}, while it still holds its row locks, and changes are applied strictly
+ * in ticket order. Conflicting changes therefore apply in the order they committed, even if
+ * their after-commit callbacks run in a different order.
+ * <p>
+ * Todos are held as immutable {@link TodoSummary} instances, shared between readers.
+ * <p>
+ * The owner's {@link TodoRevision} is advanced after its new snapshot is published, also when a change
+ * waited for an earlier ticket.
+ * <p>
+ * Disabled by default ({@code todo.read-model.enabled}): every owner's todos are held in the heap.
+ */
+@Component
+public class TodoReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoReadModel.class);
+
+    static final Comparator<TodoSummary> LIST_ORDER = Comparator.comparing(TodoSummary::getCreatedAt)
+            .thenComparing(TodoSummary::getTodoId).reversed();
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    TodoRevision todoRevision;
+
+    // 変更ログの読み取り開始位置をスナップショットの読み込みより先に確定させるため、先に初期化させる
+    @Autowired(required = false)
+    TodoChangePoller todoChangePoller;
+
+    @Value("${todo.read-model.enabled:false}")
+    boolean enabled;
+
+    private static final Snapshot EMPTY = new Snapshot(List.of());
+
+    // 所有者毎のスナップショット。rebuildではマップごと差し替える
+    private volatile Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final AtomicLong tickets = new AtomicLong();
+
+    // 以下はthisでロックして更新する
+    private long nextTicket;
+
+    private final Map<Long, Change> completed = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether reads can be served from the snapshot. Inside a transaction the caller may have
+     * uncommitted writes the snapshot does not contain yet, so such reads must go to the database.
+     */
+    public boolean isAvailable() {
+        return enabled && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * The todos of {@code owner}; an empty snapshot if the owner has none.
+     */
+    public Snapshot snapshot(String owner) {
+        return snapshots.getOrDefault(owner, EMPTY);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the current contents of the {@code todo} table.
+     */
+    public synchronized void rebuild() {
+        Map<String, Snapshot> rebuilt = new ConcurrentHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String owner : todoRepository.findAllOwners()) {
+                rebuilt.put(owner, new Snapshot(load(owner)));
+            }
+        });
+        Set<String> owners = new HashSet<>(snapshots.keySet());
+        owners.addAll(rebuilt.keySet());
+        snapshots = rebuilt;
+        owners.forEach(todoRevision::advance);
+        logger.info("Rebuilt todo read model: {} owners", rebuilt.size());
+    }
+
+    /**
+     * Compares the snapshot with the {@code todo} table. Only meaningful while no writes are in flight.
+     *
+     * @return a description of every difference; empty if the snapshot is consistent
+     */
+    public List<String> verify() {
+        Map<String, Snapshot> current = snapshots;
+        List<String> differences = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> owners = new TreeSet<>(current.keySet());
+            owners.addAll(todoRepository.findAllOwners());
+            for (String owner : owners) {
+                verify(owner, current.getOrDefault(owner, EMPTY), load(owner), differences);
+            }
+        });
+        return differences;
+    }
+
+    private List<TodoSummary> load(String owner) {
+        return todoRepository.findAllSummaries(owner).stream().sorted(LIST_ORDER).toList();
+    }
+
+    private static void verify(String owner, Snapshot current, List<TodoSummary> expected, List<String> differences) {
+        if (current.getTodos().size() != expected.size()) {
+            differences.add(owner + ": size: expected " + expected.size() + " but was " + current.getTodos().size());
+        }
+        for (int i = 0; i < Math.min(expected.size(), current.getTodos().size()); i++) {
+            TodoSummary e = expected.get(i);
+            TodoSummary a = current.getTodos().get(i);
+            if (!e.equals(a)) {
+                differences.add(owner + ": row " + i + ": expected " + e + " but was " + a);
+            }
+        }
+        long unfinished = expected.stream().filter(todo -> !todo.isFinished()).count();
+        if (current.getUnfinishedCount() != unfinished
+                || current.getFinishedCount() != expected.size() - unfinished) {
+            differences.add(owner + ": counts: expected unfinished=" + unfinished + ", finished="
+                    + (expected.size() - unfinished) + " but was " + current);
+        }
+    }
+
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(tickets.getAndIncrement(), Change.of(event));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new ChangeSynchronization(event));
+    }
+
+    private synchronized void complete(long ticket, Change change) {
+        completed.put(ticket, change);
+        if (ticket != nextTicket) {
+            // 先にチケットを取った変更のコミット完了を待つ
+            return;
+        }
+        // 同じ所有者への連続した変更はまとめて適用し、スナップショットの生成を1回にする
+        Map<String, List<TodoSummary>> changed = new HashMap<>();
+        Change ready;
+        while ((ready = completed.remove(nextTicket)) != null) {
+            nextTicket++;
+            if (ready.owner != null) {
+                ready.applyTo(changed.computeIfAbsent(ready.owner,
+                        owner -> new ArrayList<>(snapshot(owner).getTodos())));
+            }
+        }
+        changed.forEach((owner, todos) -> snapshots.put(owner, new Snapshot(todos)));
+        // スナップショットの差し替え後に進め、新しいリビジョンで古い一覧がキャッシュされないようにする
+        changed.keySet().forEach(todoRevision::advance);
+    }
+
+    private class ChangeSynchronization implements TransactionSynchronization {
+
+        private final TodoChangedEvent event;
+
+        private Change change;
+
+        private long ticket = -1;
+
+        ChangeSynchronization(TodoChangedEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public int getOrder() {
+            // TodoRevision等のAFTER_COMMITリスナーより先に反映する
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            change = Change.of(event);
+            ticket = tickets.getAndIncrement();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (ticket < 0) {
+                return;
+            }
+            if (status != STATUS_COMMITTED) {
+                logger.debug("Discarding uncommitted todo change: {}", event);
+            }
+            complete(ticket, status == STATUS_COMMITTED ? change : Change.NONE);
+        }
+    }
+
+    /**
+     * One committed change, captured as plain values so that it does not depend on the entity afterwards.
+     */
+    private static final class Change {
+
+        // ロールバックされたチケットの穴埋め用
+        static final Change NONE = new Change(null, null, Set.of(), List.of());
+
+        private final TodoChangedEvent.Type type;
+
+        private final String owner;
+
+        private final Set<Long> todoIds;
+
+        private final List<TodoSummary> created;
+
+        private Change(TodoChangedEvent.Type type, String owner, Set<Long> todoIds, List<TodoSummary> created) {
+            this.type = type;
+            this.owner = owner;
+            this.todoIds = todoIds;
+            this.created = created;
+        }
+
+        static Change of(TodoChangedEvent event) {
+            return new Change(event.getType(), event.getOwner(), new HashSet<>(event.getTodoIds()),
+                    event.getCreated());
+        }
+
+        void applyTo(List<TodoSummary> todos) {
+            if (type == null) {
+                return;
+            }
+            switch (type) {
+                case CREATED:
+                    todos.removeIf(todo -> todoIds.contains(todo.getTodoId()));
+                    for (TodoSummary todo : created) {
+                        int index = Collections.binarySearch(todos, todo, LIST_ORDER);
+                        todos.add(index < 0 ? -index - 1 : index, todo);
+                    }
+                    break;
+                case FINISHED:
+                    todos.replaceAll(todo -> todoIds.contains(todo.getTodoId()) ? todo.finish() : todo);
+                    break;
+                case DELETED:
+                    todos.removeIf(todo -> todoIds.contains(todo.getTodoId()));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown change type: " + type);
+            }
+        }
+    }
+
+    /**
+     * Immutable state of the read model at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final List<TodoSummary> todos;
+
+        private final long unfinishedCount;
+
+        Snapshot(List<TodoSummary> todos) {
+            this.todos = Collections.unmodifiableList(todos);
+            this.unfinishedCount = todos.stream().filter(todo -> !todo.isFinished()).count();
+        }
+
+        public List<TodoSummary> getTodos() {
+            return todos;
+        }
+
+        public long getUnfinishedCount() {
+            return unfinishedCount;
+        }
+
+        public long getFinishedCount() {
+            return todos.size() - unfinishedCount;
+        }
+
+        /**
+         * Same result as the keyset page query: up to {@code size} todos strictly after {@code cursor}.
+         */
+        public TodoPage page(TodoCursor cursor, int size) {
+            int from = 0;
+            if (cursor != null) {
+                TodoSummary key = new TodoSummary(cursor.getTodoId(), null, false, cursor.getCreatedAt());
+                int index = Collections.binarySearch(todos, key, LIST_ORDER);
+                from = index < 0 ? -index - 1 : index + 1;
+            }
+            int to = (int) Math.min((long) from + size + 1, todos.size());
+            return TodoPage.of(todos.subList(from, to), size);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "size=" + todos.size() +
+                    ", unfinishedCount=" + unfinishedCount +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.todoapp.domain.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-owner revision of the {@code todo} table, advanced after every committed change to that owner's todos.
+ * <p>
+ * The value is prefixed with the startup time so that a restart never hands out a revision
+ * that an earlier run already used. It is local to this process.
+ * <p>
+ * When the {@link TodoReadModel} is enabled, it advances the revision once it has published the owner's new
+ * snapshot, so a reader that sees a new revision also sees the todos it stands for. Otherwise the revision
+ * advances after the change commits.
+ */
+@Component
+public class TodoRevision {
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Value("${todo.read-model.enabled:false}")
+    boolean readModelEnabled;
+
+    public String current(String owner) {
+        AtomicLong counter = counters.get(owner);
+        // ETagとして使われるため、別の所有者の同じカウンタ値とは異なる値にする
+        return Long.toString(epoch, 36) + "-" + Integer.toHexString(owner.hashCode()) + "-"
+                + (counter == null ? 0 : counter.get());
+    }
+
+    public void advance(String owner) {
+        counters.computeIfAbsent(owner, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    // コミット後に進めることで、新しいリビジョンを見た読み手は必ず変更後のデータを読む
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (readModelEnabled) {
+            // 変更が先行するチケット待ちでスナップショットに未反映の場合があるため、反映時にTodoReadModelが進める
+            return;
+        }
+        advance(event.getOwner());
+    }
+}
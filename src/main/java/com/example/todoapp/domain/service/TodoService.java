@@ -1,15 +1,48 @@
 package com.example.todoapp.domain.service;
 
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import org.terasoluna.gfw.common.message.ResultMessage;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TodoService {
+
+    /**
+     * The number of unfinished todos an owner may have.
+     */
+    long MAX_UNFINISHED_COUNT = 5;
+
+    /**
+     * The E001 message of an unfinished todo rejected by the {@link #MAX_UNFINISHED_COUNT} limit, either by
+     * {@link #create(Todo)} or by being left out of the result of {@link #createAll(List)}.
+     */
+    static ResultMessage unfinishedLimitExceeded() {
+        return ResultMessage.fromText(
+                "[E001] The count of un-finished Todo must not be over " + MAX_UNFINISHED_COUNT + ".");
+    }
+    
+    List<TodoSummary> findAll();
+    
+    TodoPage findPage(TodoCursor cursor, int size);
     
-    List<Todo> findAll();
+    void exportAll(Consumer<TodoSummary> sink);
     
     Todo create(Todo todo);
     
-    Todo finish(Long todoId);
+    List<Todo> createAll(List<Todo> todos);
+    
+    TodoSummary findSummary(Long todoId);
+    
+    void finish(Long todoId);
     
     void delete(Long todoId);
+    
+    TodoBatchResult finishAll(Collection<Long> todoIds);
+    
+    TodoBatchResult deleteAll(Collection<Long> todoIds);
 }
\ No newline at end of file
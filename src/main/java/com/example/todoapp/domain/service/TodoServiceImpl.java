@@ -1,67 +1,283 @@
 package com.example.todoapp.domain.service;
 
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
 import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.repository.TodoRepository.TodoState;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.terasoluna.gfw.common.exception.BusinessException;
 import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
 import org.terasoluna.gfw.common.message.ResultMessage;
 import org.terasoluna.gfw.common.message.ResultMessages;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Works on the todos of the owner resolved by {@link TodoOwnerResolver}. The unfinished-count limit
+ * applies per owner, through one counter row per owner, so admissions of different owners do not
+ * serialize on a shared row.
+ */
 @Service
 @Transactional
 public class TodoServiceImpl implements TodoService {
 
-    private static final long MAX_UNFINISHED_COUNT = 5;
+    static final String ADMISSION_REJECTED_METRIC = "todo.admission.rejected";
 
     @Autowired
     TodoRepository todoRepository;
 
+    @Autowired
+    TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    TodoCounterInitializer todoCounterInitializer;
+
+    @Autowired
+    TodoOwnerResolver todoOwnerResolver;
+
+    @Autowired
+    TodoReadModel todoReadModel;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // 読み取りモデルから返す場合はDBに触れないため、トランザクション(コネクション)を開始しない
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<TodoSummary> findAll() {
+        String owner = todoOwnerResolver.currentOwner();
+        if (todoReadModel.isAvailable()) {
+            return todoReadModel.snapshot(owner).getTodos();
+        }
+        return todoRepository.findAllSummaries(owner);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public TodoPage findPage(TodoCursor cursor, int size) {
+        String owner = todoOwnerResolver.currentOwner();
+        if (todoReadModel.isAvailable()) {
+            return todoReadModel.snapshot(owner).page(cursor, size);
+        }
+        // 次ページ有無の判定用に1件多く取得する
+        int limit = size + 1;
+        List<TodoSummary> rows = (cursor == null)
+                ? todoRepository.findFirstPage(owner, limit)
+                : todoRepository.findPageAfter(owner, cursor.getCreatedAt(), cursor.getTodoId(), limit);
+        return TodoPage.of(rows, size);
+    }
+
+    /**
+     * Passes every todo to {@code sink}, newest first, while the result set is being read.
+     * Rows are read as {@link TodoSummary} projections, so the persistence context stays empty.
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<Todo> findAll() {
-        return todoRepository.findAllByOrderByCreatedAtDesc();
+    public void exportAll(Consumer<TodoSummary> sink) {
+        try (Stream<TodoSummary> todos = todoRepository.streamByOwnerOrderByCreatedAtDesc(
+                todoOwnerResolver.currentOwner())) {
+            todos.forEach(sink);
+        }
     }
 
+    // 業務エラー(E001/E002/E404)は書き込み前に送出するため、ロールバック不要とする
+    // (TodoWritePipelineが複数の書き込みを1トランザクションで実行する際、他の書き込みを巻き込まない)
     @Override
+    @Transactional(noRollbackFor = {BusinessException.class, ResourceNotFoundException.class})
     public Todo create(Todo todo) {
-        long unfinishedCount = todoRepository.countByFinished(false);
-        if (unfinishedCount >= MAX_UNFINISHED_COUNT) {
+        String owner = todoOwnerResolver.currentOwner();
+        todo.setOwner(owner);
+        if (!todo.isFinished() && !admit(owner)) {
+            meterRegistry.counter(ADMISSION_REJECTED_METRIC, "operation", "create").increment();
             ResultMessages messages = ResultMessages.error();
-            messages.add(ResultMessage.fromText(
-                    "[E001] The count of un-finished Todo must not be over " + MAX_UNFINISHED_COUNT + "."));
+            messages.add(TodoService.unfinishedLimitExceeded());
             throw new BusinessException(messages);
         }
-        return todoRepository.save(todo);
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(owner, List.of(saved)));
+        return saved;
     }
 
+    /**
+     * Saves the given todos in one transaction, applying the unfinished-count limit in list order.
+     * Unfinished todos over the limit are skipped instead of failing the whole call.
+     *
+     * @return the todos that were saved
+     */
     @Override
-    public Todo finish(Long todoId) {
-        Todo todo = findOne(todoId);
-        if (todo.isFinished()) {
-            ResultMessages messages = ResultMessages.error();
-            messages.add(ResultMessage.fromText("[E002] The requested Todo is already finished. (id=" + todoId + ")"));
-            throw new BusinessException(messages);
+    public List<Todo> createAll(List<Todo> todos) {
+        String owner = todoOwnerResolver.currentOwner();
+        List<Todo> admitted = new ArrayList<>(todos.size());
+        boolean full = false;
+        int rejected = 0;
+        for (Todo todo : todos) {
+            todo.setOwner(owner);
+            if (todo.isFinished()) {
+                admitted.add(todo);
+            } else if (!full && admit(owner)) {
+                admitted.add(todo);
+            } else {
+                // 上限到達後は同一呼び出し内で再判定しない
+                full = true;
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            meterRegistry.counter(ADMISSION_REJECTED_METRIC, "operation", "createAll").increment(rejected);
+        }
+        List<Todo> saved = todoRepository.saveAll(admitted);
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(TodoChangedEvent.created(owner, saved));
         }
-        todo.setFinished(true);
-        return todoRepository.save(todo);
+        return saved;
     }
 
+    /**
+     * Returns the current state of one todo, read as a {@link TodoSummary} projection.
+     */
     @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public TodoSummary findSummary(Long todoId) {
+        return todoRepository.findSummaryById(todoOwnerResolver.currentOwner(), todoId)
+                .orElseThrow(() -> notFound(todoId));
+    }
+
+    /**
+     * Finishes the todo with one conditional UPDATE, without loading or locking the row first.
+     * Only when no row is updated is the todo looked up again, to tell E002 from E404.
+     */
+    @Override
+    @Transactional(noRollbackFor = {BusinessException.class, ResourceNotFoundException.class})
+    public void finish(Long todoId) {
+        String owner = todoOwnerResolver.currentOwner();
+        if (todoRepository.finishById(owner, todoId) == 0) {
+            if (todoRepository.existsByTodoIdAndOwner(todoId, owner)) {
+                ResultMessages messages = ResultMessages.error();
+                messages.add(ResultMessage.fromText("[E002] The requested Todo is already finished. (id=" + todoId + ")"));
+                throw new BusinessException(messages);
+            }
+            throw notFound(todoId);
+        }
+        todoCounterRepository.decrement(TodoCounter.unfinishedKey(owner), 1);
+        eventPublisher.publishEvent(TodoChangedEvent.finished(owner, List.of(todoId)));
+    }
+
+    /**
+     * Deletes the todo with a DELETE statement, without loading the row first.
+     * An unfinished todo takes one statement; a finished one takes a second, unconditional DELETE.
+     */
+    @Override
+    @Transactional(noRollbackFor = {BusinessException.class, ResourceNotFoundException.class})
     public void delete(Long todoId) {
-        Todo todo = findOne(todoId);
-        todoRepository.delete(todo);
+        String owner = todoOwnerResolver.currentOwner();
+        // 未完了件数カウンタを減らすかは削除した行の状態で決まるため、まず未完了を条件に削除する
+        // (完了済みが未完了に戻ることはないため、2文目で削除される行は必ず完了済み)
+        if (todoRepository.deleteUnfinishedById(owner, todoId) == 1) {
+            todoCounterRepository.decrement(TodoCounter.unfinishedKey(owner), 1);
+        } else if (todoRepository.deleteRowById(owner, todoId) == 0) {
+            throw notFound(todoId);
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(owner, List.of(todoId)));
     }
 
-    private Todo findOne(Long todoId) {
-        return todoRepository.findById(todoId).orElseThrow(() -> {
-            ResultMessages messages = ResultMessages.error();
-            messages.add(ResultMessage.fromText("[E404] The requested Todo is not found. (id=" + todoId + ")"));
-            return new ResourceNotFoundException(messages);
-        });
+    @Override
+    public TodoBatchResult finishAll(Collection<Long> todoIds) {
+        String owner = todoOwnerResolver.currentOwner();
+        Map<Long, TodoState> states = findStates(owner, todoIds);
+        TodoBatchResult result = new TodoBatchResult();
+        List<Long> targetIds = new ArrayList<>();
+        for (Long todoId : new LinkedHashSet<>(todoIds)) {
+            TodoState state = states.get(todoId);
+            if (state == null) {
+                result.put(todoId, TodoBatchResult.Outcome.NOT_FOUND);
+            } else if (state.isFinished()) {
+                result.put(todoId, TodoBatchResult.Outcome.ALREADY_FINISHED);
+            } else {
+                result.put(todoId, TodoBatchResult.Outcome.FINISHED);
+                targetIds.add(todoId);
+            }
+        }
+        if (!targetIds.isEmpty()) {
+            int finishedCount = todoRepository.finishAllByIds(owner, targetIds);
+            todoCounterRepository.decrement(TodoCounter.unfinishedKey(owner), finishedCount);
+            eventPublisher.publishEvent(TodoChangedEvent.finished(owner, targetIds));
+        }
+        return result;
+    }
+
+    @Override
+    public TodoBatchResult deleteAll(Collection<Long> todoIds) {
+        String owner = todoOwnerResolver.currentOwner();
+        Map<Long, TodoState> states = findStates(owner, todoIds);
+        TodoBatchResult result = new TodoBatchResult();
+        long unfinishedCount = 0;
+        for (Long todoId : new LinkedHashSet<>(todoIds)) {
+            TodoState state = states.get(todoId);
+            if (state == null) {
+                result.put(todoId, TodoBatchResult.Outcome.NOT_FOUND);
+            } else {
+                result.put(todoId, TodoBatchResult.Outcome.DELETED);
+                if (!state.isFinished()) {
+                    unfinishedCount++;
+                }
+            }
+        }
+        if (!states.isEmpty()) {
+            // 対象は所有者で絞り込んでロック済みの行に限られる
+            todoRepository.deleteAllByIdInBatch(states.keySet());
+            if (unfinishedCount > 0) {
+                todoCounterRepository.decrement(TodoCounter.unfinishedKey(owner), unfinishedCount);
+            }
+            eventPublisher.publishEvent(TodoChangedEvent.deleted(owner, states.keySet()));
+        }
+        return result;
+    }
+
+    /**
+     * Increments the unfinished counter of {@code owner} unless it has reached the limit.
+     * The conditional UPDATE locks only that owner's row, so other owners are admitted concurrently.
+     */
+    private boolean admit(String owner) {
+        String counterKey = TodoCounter.unfinishedKey(owner);
+        if (todoCounterRepository.incrementIfLessThan(counterKey, MAX_UNFINISHED_COUNT) == 1) {
+            return true;
+        }
+        // 所有者の最初の登録時はカウンタ行がないため、作成してから判定し直す
+        return todoCounterInitializer.initializeOwner(owner)
+                && todoCounterRepository.incrementIfLessThan(counterKey, MAX_UNFINISHED_COUNT) == 1;
+    }
+
+    private Map<Long, TodoState> findStates(String owner, Collection<Long> todoIds) {
+        if (todoIds.isEmpty()) {
+            return Map.of();
+        }
+        return todoRepository.findStatesForUpdate(owner, todoIds).stream()
+                .collect(Collectors.toMap(TodoState::getTodoId, Function.identity()));
+    }
+
+    private static ResourceNotFoundException notFound(Long todoId) {
+        ResultMessages messages = ResultMessages.error();
+        messages.add(ResultMessage.fromText("[E404] The requested Todo is not found. (id=" + todoId + ")"));
+        return new ResourceNotFoundException(messages);
     }
 }
\ No newline at end of file
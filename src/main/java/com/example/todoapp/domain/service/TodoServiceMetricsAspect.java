@@ -0,0 +1,101 @@
+package com.example.todoapp.domain.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+import org.terasoluna.gfw.common.message.ResultMessage;
+import org.terasoluna.gfw.common.message.ResultMessages;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Times every {@link TodoService} call as {@code todo.service}, tagged by method and outcome.
+ * <p>
+ * The outcome is {@code success}, the message code of a {@link BusinessException} or
+ * {@link ResourceNotFoundException} (e.g. {@code E001}), or {@code error} for any other exception.
+ * <p>
+ * A call made by another {@link TodoService} on the same thread (e.g. {@link TodoWritePipeline} delegating to
+ * {@link TodoServiceImpl}) is timed only as part of the outer call.
+ */
+@Aspect
+@Component
+// トランザクションの外側で計測し、コミット時間とコミット時の例外も含める
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class TodoServiceMetricsAspect {
+
+    static final String METRIC = "todo.service";
+
+    private static final Pattern MESSAGE_CODE = Pattern.compile("^\\[(\\w+)\\]");
+
+    private static final ThreadLocal<Boolean> TIMING = new ThreadLocal<>();
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Around("execution(* com.example.todoapp.domain.service.TodoService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TIMING.get() != null) {
+            return joinPoint.proceed();
+        }
+        TIMING.set(Boolean.TRUE);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (BusinessException e) {
+            outcome = codeOf(e.getResultMessages());
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } catch (ResourceNotFoundException e) {
+            outcome = codeOf(e.getResultMessages());
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } catch (Throwable e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            TIMING.remove();
+            sample.stop(Timer.builder(METRIC)
+                    .description("TodoService calls")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Stops timing calls made on the current thread, for a thread that runs them on behalf of callers
+     * that are timed themselves.
+     */
+    static void excludeCurrentThread() {
+        TIMING.set(Boolean.TRUE);
+    }
+
+    private static String codeOf(ResultMessages messages) {
+        if (messages != null) {
+            for (ResultMessage message : messages) {
+                String code = message.getCode();
+                if (code == null && message.getText() != null) {
+                    Matcher matcher = MESSAGE_CODE.matcher(message.getText());
+                    code = matcher.find() ? matcher.group(1) : null;
+                }
+                if (code != null) {
+                    return code;
+                }
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.common.sql.SqlStatementCounter;
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for single-todo writes: {@code create}, {@code finish} and {@code delete} calls from concurrent
+ * callers are queued, and one writer thread applies them in arrival order in a single transaction.
+ * <p>
+ * After taking the first queued write, the writer waits up to {@code linger} for more, or until
+ * {@code maxBatchSize} writes are collected. Every write still runs through {@link TodoServiceImpl}, in queue
+ * order, so the unfinished-count limit is applied in arrival order. A {@link BusinessException} or
+ * {@link ResourceNotFoundException} fails only the write that raised it. If the transaction fails for any
+ * other reason, the writes are retried in one transaction each, so that the failure reaches only its own
+ * caller. Callers' futures complete after the commit.
+ * <p>
+ * Each write runs with the security context of the caller that submitted it, so it applies to that caller's
+ * todos even when writes of several owners share a transaction.
+ * <p>
+ * The queue is bounded: a write that cannot be queued within {@code offerTimeout}, or that is submitted
+ * while the pipeline is stopping, fails with a {@link TodoWriteRejectedException}. All other operations are delegated to {@link TodoServiceImpl}.
+ */
+public class TodoWritePipeline implements TodoService {
+
+    static final String WRITES_METRIC = "todo.write-pipeline.writes";
+
+    static final String COMMITS_METRIC = "todo.write-pipeline.commits";
+
+    static final String BATCH_SIZE_METRIC = "todo.write-pipeline.batch.size";
+
+    static final String REJECTED_METRIC = "todo.write-pipeline.rejected";
+
+    static final String QUEUE_METRIC = "todo.write-pipeline.queue";
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoWritePipeline.class);
+
+    private final TodoService target;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    private final BlockingQueue<Write<?>> queue;
+
+    private final int maxBatchSize;
+
+    private final long lingerNanos;
+
+    private final long offerTimeoutNanos;
+
+    private final Counter writes;
+
+    private final Counter commits;
+
+    private final Counter rejected;
+
+    private final DistributionSummary batchSizes;
+
+    private final Thread writer = new Thread(this::run, "todo-write-pipeline");
+
+    private volatile boolean running;
+
+    public TodoWritePipeline(TodoService target, TransactionTemplate transactionTemplate,
+                             SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry,
+                             int queueCapacity, int maxBatchSize, Duration linger, Duration offerTimeout) {
+        this.target = target;
+        this.transactionTemplate = transactionTemplate;
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.writes = Counter.builder(WRITES_METRIC).description("Writes applied by the write pipeline")
+                .register(meterRegistry);
+        this.commits = Counter.builder(COMMITS_METRIC).description("Transactions committed by the write pipeline")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC).description("Writes rejected because the queue was full")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Writes per group-commit transaction").register(meterRegistry);
+        Gauge.builder(QUEUE_METRIC, queue, BlockingQueue::size).description("Writes waiting in the write pipeline")
+                .register(meterRegistry);
+        writer.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        writer.start();
+    }
+
+    /**
+     * Stops accepting writes, applies the queued ones and stops the writer thread.
+     */
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        Write<?> write;
+        while ((write = queue.poll()) != null) {
+            write.future.completeExceptionally(new TodoWriteRejectedException());
+        }
+    }
+
+    public CompletableFuture<Todo> submitCreate(Todo todo) {
+        // ロールバック後のやり直しで採番済みのエンティティを再利用しないよう、実行毎に複製して保存する
+        return submit(() -> target.create(copyOf(todo)));
+    }
+
+    public CompletableFuture<Void> submitFinish(Long todoId) {
+        return submit(() -> {
+            target.finish(todoId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> submitDelete(Long todoId) {
+        return submit(() -> {
+            target.delete(todoId);
+            return null;
+        });
+    }
+
+    @Override
+    public Todo create(Todo todo) {
+        return await(submitCreate(todo));
+    }
+
+    @Override
+    public void finish(Long todoId) {
+        await(submitFinish(todoId));
+    }
+
+    @Override
+    public void delete(Long todoId) {
+        await(submitDelete(todoId));
+    }
+
+    @Override
+    public List<TodoSummary> findAll() {
+        return target.findAll();
+    }
+
+    @Override
+    public TodoPage findPage(TodoCursor cursor, int size) {
+        return target.findPage(cursor, size);
+    }
+
+    @Override
+    public void exportAll(Consumer<TodoSummary> sink) {
+        target.exportAll(sink);
+    }
+
+    @Override
+    public TodoSummary findSummary(Long todoId) {
+        return target.findSummary(todoId);
+    }
+
+    @Override
+    public List<Todo> createAll(List<Todo> todos) {
+        return target.createAll(todos);
+    }
+
+    @Override
+    public TodoBatchResult finishAll(Collection<Long> todoIds) {
+        return target.finishAll(todoIds);
+    }
+
+    @Override
+    public TodoBatchResult deleteAll(Collection<Long> todoIds) {
+        return target.deleteAll(todoIds);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> action) {
+        Write<T> write = new Write<>(action);
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(write, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // 投入中に停止した場合、書き込みスレッドもclose()の取り出しも終わっていることがある。
+            // キューから取り戻せたものは誰も完了させないため、ここで拒否する。取り戻せなければ取り出した側が完了させる
+            if (queued && !running && queue.remove(write)) {
+                queued = false;
+            }
+        }
+        if (!queued) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new TodoWriteRejectedException());
+        }
+        return write.future;
+    }
+
+    private static Todo copyOf(Todo todo) {
+        Todo copy = new Todo(todo.getTodoTitle());
+        copy.setFinished(todo.isFinished());
+        copy.setCreatedAt(todo.getCreatedAt());
+        copy.setOwner(todo.getOwner());
+        return copy;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        // 各書き込みの所要時間は呼び出し元のTodoService呼び出しとして計測済み
+        TodoServiceMetricsAspect.excludeCurrentThread();
+        List<Write<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write<?> first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                apply(batch);
+            } catch (InterruptedException e) {
+                // 停止はrunningで判定し、キューに残った書き込みは処理してから終了する
+            } catch (Throwable e) {
+                logger.error("Write pipeline failed to apply {} writes.", batch.size(), e);
+                batch.forEach(write -> write.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<Write<?>> batch) {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            Write<?> next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void apply(List<Write<?>> batch) {
+        // 1トランザクションのSQL数は書き込み件数に比例するため、件数上限の警告対象外とする
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open("write-pipeline", -1)) {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(Write::apply));
+        } catch (RuntimeException e) {
+            logger.warn("Group commit of {} writes failed; applying them one by one.", batch.size(), e);
+            for (Write<?> write : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write.apply());
+                } catch (RuntimeException failure) {
+                    write.future.completeExceptionally(failure);
+                    continue;
+                }
+                // コミットできた書き込みだけを数える(業務エラーの書き込みは何も書き込んでいない)
+                commits.increment();
+                if (write.succeeded()) {
+                    writes.increment();
+                }
+                write.complete();
+            }
+            return;
+        }
+        writes.increment(batch.stream().filter(Write::succeeded).count());
+        commits.increment();
+        batchSizes.record(batch.size());
+        batch.forEach(Write::complete);
+    }
+
+    private static final class Write<T> {
+
+        private final Supplier<T> action;
+
+        // 所有者は呼び出し元のセキュリティコンテキストから決まるため、書き込みスレッドへ引き継ぐ
+        private final SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private T result;
+
+        private RuntimeException failure;
+
+        Write(Supplier<T> action) {
+            this.action = action;
+        }
+
+        // 業務エラーは書き込み前に送出されるため、この書き込みだけを失敗とし、トランザクションは続ける
+        void apply() {
+            result = null;
+            failure = null;
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                result = action.get();
+            } catch (BusinessException | ResourceNotFoundException e) {
+                failure = e;
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+
+        boolean succeeded() {
+            return failure == null;
+        }
+
+        void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.todoapp.domain.service;
+
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.message.ResultMessage;
+import org.terasoluna.gfw.common.message.ResultMessages;
+
+/**
+ * Thrown when a write cannot be queued because the {@link TodoWritePipeline} is full or stopped.
+ * The write has not been applied and can be retried.
+ */
+public class TodoWriteRejectedException extends BusinessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TodoWriteRejectedException() {
+        super(ResultMessages.error().add(ResultMessage.fromText(
+                "[E503] Too many updates are in progress. Please retry later.")));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * TODO一覧の完了・削除を部分更新する。
+ * 行のボタンはfinishForm/deleteFormへ送信される。送信をfetchに置き換え、
+ * サーバが返す1行分のHTML(完了)または空の応答(削除)で該当行だけを書き換える。
+ * JavaScriptが無効な場合や通信に失敗した場合は、従来どおりフォームを送信して一覧全体を再表示する。
+ */
+(function () {
+    'use strict';
+
+    function fallback(form, submitter) {
+        // submit()はsubmitイベントを発生させないため、押されたボタンの値を補ってそのまま送信する
+        const input = document.createElement('input');
+        input.type = 'hidden';
+        input.name = submitter.name;
+        input.value = submitter.value;
+        form.appendChild(input);
+        form.submit();
+    }
+
+    function replaceMessages(html) {
+        const messages = document.getElementById('messages');
+        if (messages) {
+            messages.outerHTML = html;
+        }
+    }
+
+    async function submitFragment(form, submitter) {
+        const body = new URLSearchParams(new FormData(form));
+        body.set(submitter.name, submitter.value);
+        const row = document.getElementById('todo-' + submitter.value);
+
+        let response;
+        try {
+            response = await fetch(form.action, {
+                method: 'POST',
+                headers: {'X-Requested-With': 'XMLHttpRequest'},
+                body: body,
+                credentials: 'same-origin'
+            });
+        } catch (e) {
+            fallback(form, submitter);
+            return;
+        }
+
+        if (response.status === 204) {
+            if (row) {
+                row.remove();
+            }
+            if (!document.querySelector('.todo-list > li')) {
+                // 最後の行を削除した場合は空の一覧(次ページ含む)を表示し直す
+                window.location.reload();
+            }
+        } else if (response.ok) {
+            const html = await response.text();
+            if (row) {
+                row.outerHTML = html;
+            }
+            replaceMessages('<div id="messages"></div>');
+        } else if (response.status === 404 || response.status === 409) {
+            replaceMessages(await response.text());
+        } else {
+            fallback(form, submitter);
+        }
+    }
+
+    ['finishForm', 'deleteForm'].forEach(function (id) {
+        const form = document.getElementById(id);
+        if (!form || !window.fetch) {
+            return;
+        }
+        form.addEventListener('submit', function (event) {
+            const submitter = event.submitter;
+            if (!submitter || !submitter.name) {
+                return;
+            }
+            event.preventDefault();
+            submitter.disabled = true;
+            submitFragment(form, submitter).finally(function () {
+                submitter.disabled = false;
+            });
+        });
+    });
+})();
@@ -1,21 +1,28 @@
 package com.example.todoapp;
 
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
 import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.service.TodoBatchResult;
 import com.example.todoapp.domain.service.TodoService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
 @TestPropertySource(properties = {
         "spring.datasource.url=jdbc:h2:mem:testdb",
         "spring.jpa.hibernate.ddl-auto=create-drop"
@@ -26,6 +33,9 @@ class TodoApplicationTests {
     @LocalServerPort
     private int port;
 
+    @LocalManagementPort
+    private int managementPort;
+
     @Autowired
     private TestRestTemplate restTemplate;
 
@@ -76,7 +86,7 @@ class TodoApplicationTests {
         assertThat(createdTodo.isFinished()).isFalse();
         
         // Verify it can be retrieved
-        assertThat(todoService.findAll()).contains(createdTodo);
+        assertThat(todoService.findAll()).contains(TodoSummary.of(createdTodo));
     }
 
     @Test
@@ -86,10 +96,10 @@ class TodoApplicationTests {
         Todo createdTodo = todoService.create(todo);
         
         // When
-        Todo finishedTodo = todoService.finish(createdTodo.getTodoId());
+        todoService.finish(createdTodo.getTodoId());
         
         // Then
-        assertThat(finishedTodo.isFinished()).isTrue();
+        assertThat(todoService.findSummary(createdTodo.getTodoId()).isFinished()).isTrue();
     }
 
     @Test
@@ -102,6 +112,54 @@ class TodoApplicationTests {
         todoService.delete(createdTodo.getTodoId());
         
         // Then
-        assertThat(todoService.findAll()).doesNotContain(createdTodo);
+        assertThat(todoService.findAll()).extracting(TodoSummary::getTodoId).doesNotContain(createdTodo.getTodoId());
+    }
+
+    @Test
+    void todoServiceCanFinishAndDeleteTodosInBatch() {
+        // Given
+        Todo first = todoService.create(new Todo("Batch Todo 1"));
+        Todo second = todoService.create(new Todo("Batch Todo 2"));
+        todoService.finish(second.getTodoId());
+
+        // When
+        TodoBatchResult finishResult = todoService.finishAll(
+                Arrays.asList(first.getTodoId(), second.getTodoId(), -1L));
+        TodoBatchResult deleteResult = todoService.deleteAll(
+                Arrays.asList(first.getTodoId(), second.getTodoId(), -1L));
+
+        // Then
+        assertThat(finishResult.getTodoIds(TodoBatchResult.Outcome.FINISHED)).containsExactly(first.getTodoId());
+        assertThat(finishResult.getTodoIds(TodoBatchResult.Outcome.ALREADY_FINISHED)).containsExactly(second.getTodoId());
+        assertThat(finishResult.getTodoIds(TodoBatchResult.Outcome.NOT_FOUND)).containsExactly(-1L);
+        assertThat(deleteResult.getTodoIds(TodoBatchResult.Outcome.DELETED))
+                .containsExactly(first.getTodoId(), second.getTodoId());
+        assertThat(todoRepository.findAllById(Arrays.asList(first.getTodoId(), second.getTodoId()))).isEmpty();
+    }
+
+    @Test
+    void prometheusEndpointIsNotServedOnTheApplicationPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void prometheusEndpointExposesApplicationMetrics() {
+        // Given
+        todoService.create(new Todo("Metrics Todo"));
+
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("todo_service_seconds_count{application=\"Terasoluna TODO Application\",exception=\"none\",method=\"create\",outcome=\"success\"")
+                .contains("spring_data_repository_invocations_seconds_count")
+                .contains("hibernate_query_executions_total")
+                .contains("hikaricp_connections_active");
     }
-}
\ No newline at end of file
+}
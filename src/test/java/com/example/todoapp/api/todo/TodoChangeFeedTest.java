@@ -0,0 +1,282 @@
+package com.example.todoapp.api.todo;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.service.TodoChangedEvent;
+import com.example.todoapp.domain.service.TodoOwnerResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TodoChangeFeedTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 次に購読した接続に使うSseEmitter(空の場合は通常のもの)
+    private final Queue<SseEmitter> emitters = new ConcurrentLinkedQueue<>();
+
+    private TodoChangeFeed todoChangeFeed;
+
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        todoChangeFeed.close();
+    }
+
+    @Test
+    void changes_arePushedToSubscribersOfTheirOwnerOnly() throws Exception {
+        // Given
+        start(senders(2), 4, 16, Long.MAX_VALUE, Duration.ofHours(1), Duration.ofHours(1));
+        MvcResult subscriber = subscribe(null);
+        Todo created = new Todo("Pushed");
+        created.setTodoId(1L);
+        created.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        // When
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.created(Todo.ANONYMOUS_OWNER, List.of(created)));
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.finished("alice", List.of(2L)));
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.deleted(Todo.ANONYMOUS_OWNER, List.of(1L)));
+
+        // Then
+        String content = awaitContent(subscriber, "event:deleted");
+        assertThat(content).contains("event:created\ndata:{\"todoIds\":[1],\"todos\":[{\"todoId\":1,"
+                        + "\"todoTitle\":\"Pushed\",\"finished\":false,\"createdAt\":\"2024-01-02T03:04:05\"}]}\n\n")
+                .doesNotContain("event:finished");
+        assertThat(content.indexOf("event:created")).isLessThan(content.indexOf("event:deleted"));
+    }
+
+    @Test
+    void reconnectWithLastEventId_receivesOnlyTheMissedEvents() throws Exception {
+        // Given
+        start(senders(2), 4, 16, Long.MAX_VALUE, Duration.ofHours(1), Duration.ofHours(1));
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.finished(Todo.ANONYMOUS_OWNER, List.of(1L)));
+        String lastEventId = todoChangeFeed.lastEventId();
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.finished(Todo.ANONYMOUS_OWNER, List.of(2L)));
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.deleted(Todo.ANONYMOUS_OWNER, List.of(3L)));
+
+        // When
+        MvcResult subscriber = subscribe(lastEventId);
+
+        // Then
+        String content = awaitContent(subscriber, ":heartbeat");
+        assertThat(content).contains("\"todoIds\":[2]", "\"todoIds\":[3]", "id:" + todoChangeFeed.lastEventId())
+                .doesNotContain("\"todoIds\":[1]", TodoChangeFeed.RESET_EVENT);
+    }
+
+    @Test
+    void lastEventIdThatCannotBeReplayed_receivesReset() throws Exception {
+        // Given
+        start(senders(2), 4, 2, Long.MAX_VALUE, Duration.ofHours(1), Duration.ofHours(1));
+        String lastEventId = todoChangeFeed.lastEventId();
+        for (long todoId = 1; todoId <= 3; todoId++) {
+            todoChangeFeed.onTodoChanged(TodoChangedEvent.finished(Todo.ANONYMOUS_OWNER, List.of(todoId)));
+        }
+
+        // When
+        MvcResult expired = subscribe(lastEventId);
+        MvcResult fromAnotherRun = subscribe("0-1");
+
+        // Then
+        for (MvcResult subscriber : List.of(expired, fromAnotherRun)) {
+            assertThat(awaitContent(subscriber, "event:" + TodoChangeFeed.RESET_EVENT))
+                    .contains("id:" + todoChangeFeed.lastEventId())
+                    .doesNotContain("event:finished");
+        }
+    }
+
+    @Test
+    void heartbeats_reachIdleSubscribers() throws Exception {
+        // Given
+        start(senders(2), 4, 16, Long.MAX_VALUE, Duration.ofMillis(20), Duration.ofHours(1));
+        MvcResult subscriber = subscribe(null);
+
+        // When & Then
+        assertThat(awaitContent(subscriber, ":heartbeat\n\nid:" + todoChangeFeed.lastEventId() + "\n:heartbeat"))
+                .doesNotContain("event:");
+    }
+
+    @Test
+    void subscriberThatFallsBehind_isDisconnected() throws Exception {
+        // Given
+        ThreadPoolExecutor senders = senders(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 送信スレッドを塞ぎ、キューに溜まる一方の購読者にする
+        senders.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        start(senders, 4, 16, Long.MAX_VALUE, Duration.ofHours(1), Duration.ofHours(1));
+        MvcResult subscriber = subscribe(null);
+
+        // When
+        for (long todoId = 1; todoId <= 4; todoId++) {
+            todoChangeFeed.onTodoChanged(TodoChangedEvent.finished(Todo.ANONYMOUS_OWNER, List.of(todoId)));
+        }
+
+        // Then
+        assertThat(meterRegistry.get(TodoChangeFeed.DISCONNECTED_METRIC).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TodoChangeFeed.SUBSCRIBERS_METRIC).gauge().value()).isZero();
+        release.countDown();
+        subscriber.getAsyncResult(TIMEOUT_MILLIS);
+        assertThat(subscriber.getResponse().getContentAsString()).doesNotContain("event:");
+    }
+
+    @Test
+    void largeEvents_areDroppedFromReplayBySize() throws Exception {
+        // Given
+        long replayMaxBytes = 256 * 1024;
+        start(senders(2), 4, 4096, replayMaxBytes, Duration.ofHours(1), Duration.ofHours(1));
+        List<Todo> chunk = new ArrayList<>();
+        for (long todoId = 1; todoId <= 500; todoId++) {
+            Todo todo = new Todo("Imported " + "x".repeat(100));
+            todo.setTodoId(todoId);
+            chunk.add(todo);
+        }
+        String beforeImport = todoChangeFeed.lastEventId();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            todoChangeFeed.onTodoChanged(TodoChangedEvent.created(Todo.ANONYMOUS_OWNER, chunk));
+        }
+        String beforeLast = todoChangeFeed.lastEventId();
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.deleted(Todo.ANONYMOUS_OWNER, List.of(1L)));
+
+        // Then
+        assertThat(todoChangeFeed.replayBytes()).isPositive().isLessThanOrEqualTo(replayMaxBytes);
+        assertThat(awaitContent(subscribe(beforeImport), "event:" + TodoChangeFeed.RESET_EVENT))
+                .doesNotContain("event:created");
+        assertThat(awaitContent(subscribe(beforeLast), "event:deleted"))
+                .doesNotContain(TodoChangeFeed.RESET_EVENT);
+    }
+
+    @Test
+    void subscriberThatStopsReading_isDisconnected_withoutHoldingUpOthers() throws Exception {
+        // Given
+        ThreadPoolExecutor senders = senders(1);
+        start(senders, 16, 16, Long.MAX_VALUE, Duration.ofHours(1), Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(release);
+        RecordingEmitter reading = new RecordingEmitter(null);
+        emitters.add(stalled);
+        emitters.add(reading);
+        // 読み取らないクライアントへの書き込みが、唯一の送信スレッドを塞ぐ
+        todoChangeFeed.subscribe(Todo.ANONYMOUS_OWNER, null);
+        assertThat(stalled.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        todoChangeFeed.subscribe(Todo.ANONYMOUS_OWNER, null);
+
+        // When
+        todoChangeFeed.onTodoChanged(TodoChangedEvent.finished(Todo.ANONYMOUS_OWNER, List.of(1L)));
+
+        // Then
+        assertThat(reading.sent.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(meterRegistry.get(TodoChangeFeed.DISCONNECTED_METRIC).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TodoChangeFeed.SUBSCRIBERS_METRIC).gauge().value()).isEqualTo(1);
+        assertThat(senders.getCorePoolSize()).isEqualTo(2);
+        release.countDown();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (senders.getCorePoolSize() != 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(senders.getCorePoolSize()).isEqualTo(1);
+    }
+
+    private void start(ThreadPoolExecutor senders, int bufferSize, int replayCapacity, long replayMaxBytes,
+                       Duration heartbeatInterval, Duration sendTimeout) {
+        todoChangeFeed = new TodoChangeFeed(Jackson2ObjectMapperBuilder.json().build(), meterRegistry, senders,
+                Executors.newSingleThreadScheduledExecutor(), bufferSize, replayCapacity, replayMaxBytes,
+                heartbeatInterval, sendTimeout) {
+            @Override
+            SseEmitter newEmitter() {
+                SseEmitter emitter = emitters.poll();
+                return (emitter != null) ? emitter : super.newEmitter();
+            }
+        };
+        todoChangeFeed.start();
+        TodoRestController controller = new TodoRestController();
+        controller.todoChangeFeed = todoChangeFeed;
+        controller.todoOwnerResolver = new TodoOwnerResolver();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private static ThreadPoolExecutor senders(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/todos/events");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    // releaseがnullでなければ、解放されるまで書き込みが戻らない(読み取らないクライアント)
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        // 購読時の現在番号と変更イベントの2件
+        final CountDownLatch sent = new CountDownLatch(2);
+
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.countDown();
+        }
+    }
+
+    // 送信は別スレッドで行われるため、期待する内容が届くまで待つ
+    private static String awaitContent(MvcResult subscriber, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        String content = subscriber.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = subscriber.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.todoapp.api.todo;
+
+import com.example.todoapp.config.DevSecurityConfig;
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.service.TodoOwnerResolver;
+import com.example.todoapp.domain.service.TodoRevision;
+import com.example.todoapp.domain.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+import org.terasoluna.gfw.common.message.ResultMessage;
+import org.terasoluna.gfw.common.message.ResultMessages;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoRestController.class)
+@Import({DevSecurityConfig.class, TodoOwnerResolver.class})
+class TodoRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoService todoService;
+
+    @MockBean
+    private TodoRevision todoRevision;
+
+    @MockBean
+    private TodoChangeFeed todoChangeFeed;
+
+    @BeforeEach
+    void setUp() {
+        when(todoRevision.current(anyString())).thenReturn("rev-1");
+    }
+
+    @Test
+    void getTodos_returnsPageWithStrongETag() throws Exception {
+        // Given
+        TodoCursor nextCursor = new TodoCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 3L);
+        when(todoService.findPage(isNull(), anyInt()))
+                .thenReturn(new TodoPage(Arrays.asList(TodoSummary.of(createSampleTodo())), nextCursor));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"rev-1\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.todos[0].todoId").value(1))
+                .andExpect(jsonPath("$.todos[0].todoTitle").value("Test Todo"))
+                .andExpect(jsonPath("$.todos[0].createdAt").value("2024-01-02T03:04:05"))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor.toToken()));
+
+        verify(todoService).findPage(null, TodoRestController.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void getTodos_returnsNotModifiedWithoutQuery_whenRevisionIsUnchanged() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos").header("If-None-Match", "\"rev-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"rev-1\""))
+                .andExpect(content().string(""));
+
+        verify(todoService, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void getTodos_returnsFullResponse_whenRevisionHasChanged() throws Exception {
+        // Given
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(new TodoPage(Arrays.asList(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos").header("If-None-Match", "\"rev-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"rev-1\""))
+                .andExpect(jsonPath("$.todos").isEmpty());
+    }
+
+    @Test
+    void getTodos_returnsBadRequest_whenCursorIsMalformed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("E400"));
+    }
+
+    @Test
+    void getTodos_returnsBadRequest_whenSizeIsOutOfRange() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(todoService, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void getEvents_subscribesCurrentOwner_withLastEventId() throws Exception {
+        // Given
+        when(todoChangeFeed.subscribe(anyString(), any())).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/events").header("Last-Event-ID", "abc-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(todoChangeFeed).subscribe(Todo.ANONYMOUS_OWNER, "abc-1");
+    }
+
+    @Test
+    void postTodos_returnsCreatedWithLocation() throws Exception {
+        // Given
+        when(todoService.create(any(Todo.class))).thenReturn(createSampleTodo());
+
+        // When & Then
+        mockMvc.perform(post("/api/todos").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"todoTitle\":\"Test Todo\",\"finished\":true}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/todos/1"))
+                .andExpect(jsonPath("$.todoId").value(1))
+                .andExpect(jsonPath("$.finished").value(false));
+    }
+
+    @Test
+    void postTodos_returnsBadRequest_whenTitleIsBlank() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/todos").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"todoTitle\":\"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("E400"))
+                .andExpect(jsonPath("$.details[0].target").value("todoTitle"));
+
+        verify(todoService, never()).create(any(Todo.class));
+    }
+
+    @Test
+    void postTodos_returnsConflict_whenUnfinishedLimitReached() throws Exception {
+        // Given
+        ResultMessages messages = ResultMessages.error().add(
+                ResultMessage.fromText("[E001] The count of un-finished Todo must not be over 5."));
+        when(todoService.create(any(Todo.class))).thenThrow(new BusinessException(messages));
+
+        // When & Then
+        mockMvc.perform(post("/api/todos").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"todoTitle\":\"Test Todo\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("E001"))
+                .andExpect(jsonPath("$.message").value("The count of un-finished Todo must not be over 5."));
+    }
+
+    @Test
+    void putTodo_finishesTodo() throws Exception {
+        // Given
+        Todo finishedTodo = createSampleTodo();
+        finishedTodo.setFinished(true);
+        when(todoService.findSummary(1L)).thenReturn(TodoSummary.of(finishedTodo));
+
+        // When & Then
+        mockMvc.perform(put("/api/todos/1").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.finished").value(true));
+
+        verify(todoService).finish(1L);
+    }
+
+    @Test
+    void deleteTodo_returnsNoContent() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/todos/1").with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(todoService).delete(1L);
+    }
+
+    @Test
+    void deleteTodo_returnsNotFound_whenTodoDoesNotExist() throws Exception {
+        // Given
+        ResultMessages messages = ResultMessages.error().add(
+                ResultMessage.fromText("[E404] The requested Todo is not found. (id=9)"));
+        doThrow(new ResourceNotFoundException(messages)).when(todoService).delete(9L);
+
+        // When & Then
+        mockMvc.perform(delete("/api/todos/9").with(csrf()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("E404"));
+    }
+
+    private Todo createSampleTodo() {
+        Todo todo = new Todo("Test Todo");
+        todo.setTodoId(1L);
+        todo.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        return todo;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.todoapp.app.todo;
+
+import com.example.todoapp.common.sql.SqlStatementCounter;
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.service.TodoReadModel;
+import com.example.todoapp.domain.service.TodoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static com.example.todoapp.common.sql.SqlStatementCountAssert.assertThatStatements;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each {@link TodoController} endpoint runs against the real database.
+ * <p>
+ * {@link TodoControllerTest} mocks the service, so statement counts are checked here. Fewer than 50
+ * TODOs are created in this class, so the pooled-lo sequence is only read once, by the first
+ * {@link #setUp()}, and never inside a measured request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementcounttest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.read-model.enabled=true"
+})
+class TodoControllerStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private TodoReadModel todoReadModel;
+
+    private Todo todo;
+
+    @BeforeEach
+    void setUp() {
+        todo = todoService.create(new Todo("Existing Todo"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAllInBatch();
+        todoCounterRepository.save(new TodoCounter(TodoCounter.unfinishedKey(Todo.ANONYMOUS_OWNER), 0));
+        todoReadModel.rebuild();
+    }
+
+    @Test
+    void list_runsNoStatement() throws Exception {
+        // 一覧は読み取りモデルから返す
+        assertStatements(get("/todo/list"), status().isOk(), 0);
+    }
+
+    @Test
+    void create_runsAdmissionUpdateAndInsert() throws Exception {
+        assertStatements(post("/todo/create").with(csrf()).param("todoTitle", "New Todo"),
+                status().is3xxRedirection(), 2);
+    }
+
+    @Test
+    void create_runsOnlyAdmissionUpdate_whenRejected() throws Exception {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            todoService.create(new Todo("Todo " + i));
+        }
+
+        // When & Then (再表示する一覧はSQLを発行しない)
+        assertStatements(post("/todo/create").with(csrf()).param("todoTitle", "New Todo"), status().isOk(), 1);
+    }
+
+    @Test
+    void finish_runsConditionalUpdateAndCounterUpdate() throws Exception {
+        assertStatements(post("/todo/finish").with(csrf()).param("todoId", todo.getTodoId().toString()),
+                status().is3xxRedirection(), 2);
+    }
+
+    @Test
+    void finish_runsConditionalUpdateAndExistenceCheck_whenAlreadyFinished() throws Exception {
+        // Given
+        todoService.finish(todo.getTodoId());
+
+        // When & Then
+        assertStatements(post("/todo/finish").with(csrf()).param("todoId", todo.getTodoId().toString()),
+                status().isOk(), 2);
+    }
+
+    @Test
+    void finishFragment_readsTheFinishedRowOnce() throws Exception {
+        assertStatements(post("/todo/finish").with(csrf()).header("X-Requested-With", "XMLHttpRequest")
+                        .param("todoId", todo.getTodoId().toString()),
+                status().isOk(), 3);
+    }
+
+    @Test
+    void delete_runsConditionalDeleteAndCounterUpdate() throws Exception {
+        assertStatements(post("/todo/delete").with(csrf()).param("todoId", todo.getTodoId().toString()),
+                status().is3xxRedirection(), 2);
+    }
+
+    @Test
+    void delete_runsBothDeletes_whenTodoIsFinished() throws Exception {
+        // Given
+        todoService.finish(todo.getTodoId());
+
+        // When & Then
+        assertStatements(post("/todo/delete").with(csrf()).param("todoId", todo.getTodoId().toString()),
+                status().is3xxRedirection(), 2);
+    }
+
+    @Test
+    void delete_runsBothDeletes_whenTodoDoesNotExist() throws Exception {
+        assertStatements(post("/todo/delete").with(csrf()).param("todoId", "-1"), status().isOk(), 2);
+    }
+
+    @Test
+    void finishAll_runsConstantStatements_regardlessOfSelection() throws Exception {
+        // Given
+        Todo other = todoService.create(new Todo("Other Todo"));
+
+        // When & Then
+        assertStatements(post("/todo/finishAll").with(csrf())
+                        .param("todoIds", todo.getTodoId().toString(), other.getTodoId().toString(), "-1"),
+                status().is3xxRedirection(), 3);
+    }
+
+    @Test
+    void deleteAll_runsConstantStatements_regardlessOfSelection() throws Exception {
+        // Given
+        Todo other = todoService.create(new Todo("Other Todo"));
+
+        // When & Then
+        assertStatements(post("/todo/deleteAll").with(csrf())
+                        .param("todoIds", todo.getTodoId().toString(), other.getTodoId().toString(), "-1"),
+                status().is3xxRedirection(), 3);
+    }
+
+    private void assertStatements(RequestBuilder request, ResultMatcher expectedStatus, int expectedCount)
+            throws Exception {
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open("test")) {
+            mockMvc.perform(request).andExpect(expectedStatus);
+            assertThatStatements(scope).hasCount(expectedCount).hasNoRepeatedStatements();
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.todoapp.app.todo;
 
+import com.example.todoapp.config.DevSecurityConfig;
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.service.TodoBatchResult;
+import com.example.todoapp.domain.service.TodoOwnerResolver;
+import com.example.todoapp.domain.service.TodoRevision;
 import com.example.todoapp.domain.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.terasoluna.gfw.common.exception.BusinessException;
 import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
 import org.terasoluna.gfw.common.message.ResultMessage;
@@ -14,23 +24,36 @@ import org.terasoluna.gfw.common.message.ResultMessages;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 @WebMvcTest(TodoController.class)
+@Import({DevSecurityConfig.class, TodoListFragmentCache.class, TodoOwnerResolver.class})
 class TodoControllerTest {
 
     @Autowired
@@ -39,20 +62,99 @@ class TodoControllerTest {
     @MockBean
     private TodoService todoService;
 
+    @MockBean
+    private TodoRevision todoRevision;
+
+    @BeforeEach
+    void setUp() {
+        // 描画済みの行はテストをまたいでキャッシュされるため、テスト毎に別のリビジョンとする
+        when(todoRevision.current(anyString())).thenReturn(UUID.randomUUID().toString());
+    }
+
     @Test
     void list_returnsListView() throws Exception {
         // Given
-        List<Todo> todos = Arrays.asList(createSampleTodo());
-        when(todoService.findAll()).thenReturn(todos);
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
 
         // When & Then
         mockMvc.perform(get("/todo/list"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("todo/list"))
                 .andExpect(model().attributeExists("todos"))
-                .andExpect(model().attributeExists("todoForm"));
+                .andExpect(model().attributeExists("todoForm"))
+                .andExpect(model().attributeDoesNotExist("nextCursor"));
+
+        verify(todoService).findPage(null, TodoController.PAGE_SIZE);
+        verify(todoService, never()).findAll();
+    }
+
+    @Test
+    void list_passesCursorAndExposesNextCursor() throws Exception {
+        // Given
+        TodoCursor cursor = new TodoCursor(LocalDateTime.of(2024, 1, 2, 3, 4, 5), 10L);
+        TodoCursor nextCursor = new TodoCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 3L);
+        when(todoService.findPage(any(TodoCursor.class), anyInt())).thenReturn(createSamplePage(nextCursor));
+
+        // When & Then
+        mockMvc.perform(get("/todo/list").param("cursor", cursor.toToken()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("todo/list"))
+                .andExpect(model().attribute("nextCursor", nextCursor.toToken()));
+
+        verify(todoService).findPage(argThat(c -> c.getTodoId().equals(10L)
+                && c.getCreatedAt().equals(cursor.getCreatedAt())), eq(TodoController.PAGE_SIZE));
+    }
+
+    @Test
+    void list_fallsBackToFirstPage_whenCursorIsMalformed() throws Exception {
+        // Given
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
 
-        verify(todoService).findAll();
+        // When & Then
+        mockMvc.perform(get("/todo/list").param("cursor", "broken"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("todo/list"));
+
+        verify(todoService).findPage(null, TodoController.PAGE_SIZE);
+    }
+
+    @Test
+    void list_rendersRowsWithoutPerRequestValues() throws Exception {
+        // Given
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/todo/list"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String todoItems = (String) result.getModelAndView().getModel().get("todoItems");
+        assertThat(todoItems).contains("Sample Todo").contains("form=\"finishForm\"").doesNotContain("_csrf");
+        assertThat(result.getResponse().getContentAsString())
+                .contains("Sample Todo")
+                .contains("id=\"finishForm\"")
+                .contains("name=\"_csrf\"");
+    }
+
+    @Test
+    void list_reusesRenderedRows_whileRevisionIsUnchanged() throws Exception {
+        // Given
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
+
+        // When
+        mockMvc.perform(get("/todo/list")).andExpect(status().isOk());
+        mockMvc.perform(get("/todo/list")).andExpect(status().isOk());
+
+        // Then
+        verify(todoService, times(1)).findPage(null, TodoController.PAGE_SIZE);
+
+        // When
+        when(todoRevision.current(anyString())).thenReturn("changed");
+        mockMvc.perform(get("/todo/list")).andExpect(status().isOk());
+
+        // Then
+        verify(todoService, times(2)).findPage(null, TodoController.PAGE_SIZE);
     }
 
     @Test
@@ -62,7 +164,7 @@ class TodoControllerTest {
         when(todoService.create(any(Todo.class))).thenReturn(createdTodo);
 
         // When & Then
-        mockMvc.perform(post("/todo/create")
+        mockMvc.perform(post("/todo/create").with(csrf())
                 .param("todoTitle", "Test Todo"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/todo/list"));
@@ -73,25 +175,23 @@ class TodoControllerTest {
     @Test
     void create_returnsListView_whenValidationError() throws Exception {
         // Given
-        List<Todo> todos = Arrays.asList(createSampleTodo());
-        when(todoService.findAll()).thenReturn(todos);
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
 
         // When & Then
-        mockMvc.perform(post("/todo/create")
+        mockMvc.perform(post("/todo/create").with(csrf())
                 .param("todoTitle", "")) // Empty title should cause validation error
                 .andExpect(status().isOk())
                 .andExpect(view().name("todo/list"))
                 .andExpect(model().hasErrors());
 
         verify(todoService, never()).create(any(Todo.class));
-        verify(todoService).findAll();
+        verify(todoService).findPage(null, TodoController.PAGE_SIZE);
     }
 
     @Test
     void create_returnsListView_whenBusinessException() throws Exception {
         // Given
-        List<Todo> todos = Arrays.asList(createSampleTodo());
-        when(todoService.findAll()).thenReturn(todos);
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
         
         ResultMessages messages = ResultMessages.error();
         messages.add(ResultMessage.fromText("Business error"));
@@ -99,50 +199,48 @@ class TodoControllerTest {
         when(todoService.create(any(Todo.class))).thenThrow(exception);
 
         // When & Then
-        mockMvc.perform(post("/todo/create")
+        mockMvc.perform(post("/todo/create").with(csrf())
                 .param("todoTitle", "Test Todo"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("todo/list"));
 
         verify(todoService).create(any(Todo.class));
-        verify(todoService).findAll();
+        verify(todoService).findPage(null, TodoController.PAGE_SIZE);
     }
 
     @Test
     void finish_redirectsToList_whenSuccess() throws Exception {
         // Given
-        Todo finishedTodo = createSampleTodo();
-        finishedTodo.setFinished(true);
-        when(todoService.finish(1L)).thenReturn(finishedTodo);
+        doNothing().when(todoService).finish(1L);
 
         // When & Then
-        mockMvc.perform(post("/todo/finish")
+        mockMvc.perform(post("/todo/finish").with(csrf())
                 .param("todoId", "1"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/todo/list"));
 
         verify(todoService).finish(1L);
+        verify(todoService, never()).findSummary(any());
     }
 
     @Test
     void finish_returnsListView_whenBusinessException() throws Exception {
         // Given
-        List<Todo> todos = Arrays.asList(createSampleTodo());
-        when(todoService.findAll()).thenReturn(todos);
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
         
         ResultMessages messages = ResultMessages.error();
         messages.add(ResultMessage.fromText("Already finished"));
         BusinessException exception = new BusinessException(messages);
-        when(todoService.finish(1L)).thenThrow(exception);
+        doThrow(exception).when(todoService).finish(1L);
 
         // When & Then
-        mockMvc.perform(post("/todo/finish")
+        mockMvc.perform(post("/todo/finish").with(csrf())
                 .param("todoId", "1"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("todo/list"));
 
         verify(todoService).finish(1L);
-        verify(todoService).findAll();
+        verify(todoService).findPage(null, TodoController.PAGE_SIZE);
     }
 
     @Test
@@ -151,7 +249,7 @@ class TodoControllerTest {
         doNothing().when(todoService).delete(1L);
 
         // When & Then
-        mockMvc.perform(post("/todo/delete")
+        mockMvc.perform(post("/todo/delete").with(csrf())
                 .param("todoId", "1"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/todo/list"));
@@ -162,8 +260,7 @@ class TodoControllerTest {
     @Test
     void delete_returnsListView_whenResourceNotFoundException() throws Exception {
         // Given
-        List<Todo> todos = Arrays.asList(createSampleTodo());
-        when(todoService.findAll()).thenReturn(todos);
+        when(todoService.findPage(isNull(), anyInt())).thenReturn(createSamplePage(null));
         
         ResultMessages messages = ResultMessages.error();
         messages.add(ResultMessage.fromText("Todo not found"));
@@ -171,13 +268,136 @@ class TodoControllerTest {
         doThrow(exception).when(todoService).delete(1L);
 
         // When & Then
-        mockMvc.perform(post("/todo/delete")
+        mockMvc.perform(post("/todo/delete").with(csrf())
                 .param("todoId", "1"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("todo/list"));
 
         verify(todoService).delete(1L);
-        verify(todoService).findAll();
+        verify(todoService).findPage(null, TodoController.PAGE_SIZE);
+    }
+
+    @Test
+    void finishFragment_returnsOnlyTheFinishedRow() throws Exception {
+        // Given
+        Todo finishedTodo = createSampleTodo();
+        finishedTodo.setFinished(true);
+        doNothing().when(todoService).finish(1L);
+        when(todoService.findSummary(1L)).thenReturn(TodoSummary.of(finishedTodo));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/todo/finish").with(csrf())
+                        .header("X-Requested-With", "XMLHttpRequest")
+                        .param("todoId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("todo/items :: item"))
+                .andReturn();
+
+        // Then
+        String html = result.getResponse().getContentAsString().trim();
+        assertThat(html).startsWith("<li id=\"todo-1\"").endsWith("</li>").contains("class=\"todo-item finished\"")
+                .contains("Sample Todo").doesNotContain("form=\"finishForm\"");
+        verify(todoService, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void finishFragment_returnsMessagesWithConflict_whenBusinessException() throws Exception {
+        // Given
+        ResultMessages messages = ResultMessages.error();
+        messages.add(ResultMessage.fromText("Already finished"));
+        doThrow(new BusinessException(messages)).when(todoService).finish(1L);
+
+        // When
+        MvcResult result = mockMvc.perform(post("/todo/finish").with(csrf())
+                        .header("X-Requested-With", "XMLHttpRequest")
+                        .param("todoId", "1"))
+                .andExpect(status().isConflict())
+                .andExpect(view().name("todo/list :: messages"))
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsString()).contains("id=\"messages\"")
+                .contains("Already finished").doesNotContain("<html");
+        verify(todoService, never()).findPage(any(), anyInt());
+        verify(todoService, never()).findSummary(any());
+    }
+
+    @Test
+    void deleteFragment_returnsNoContent_whenSuccess() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/todo/delete").with(csrf())
+                        .header("X-Requested-With", "XMLHttpRequest")
+                        .param("todoId", "1"))
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+
+        verify(todoService).delete(1L);
+        verify(todoService, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void deleteFragment_returnsMessagesWithNotFound_whenResourceNotFoundException() throws Exception {
+        // Given
+        ResultMessages messages = ResultMessages.error();
+        messages.add(ResultMessage.fromText("Todo not found"));
+        doThrow(new ResourceNotFoundException(messages)).when(todoService).delete(1L);
+
+        // When & Then
+        mockMvc.perform(post("/todo/delete").with(csrf())
+                        .header("X-Requested-With", "XMLHttpRequest")
+                        .param("todoId", "1"))
+                .andExpect(status().isNotFound())
+                .andExpect(view().name("todo/list :: messages"));
+    }
+
+    @Test
+    void finishAll_redirectsToList_withPerIdOutcomes() throws Exception {
+        // Given
+        TodoBatchResult result = mock(TodoBatchResult.class);
+        when(result.hasFailures()).thenReturn(true);
+        when(result.getOutcomes()).thenReturn(Map.of(1L, TodoBatchResult.Outcome.FINISHED));
+        when(todoService.finishAll(Arrays.asList(1L, 2L))).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/todo/finishAll").with(csrf())
+                .param("todoIds", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/todo/list"))
+                .andExpect(flash().attributeExists("resultMessages"));
+
+        verify(todoService).finishAll(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    void deleteAll_redirectsToList_withPerIdOutcomes() throws Exception {
+        // Given
+        TodoBatchResult result = mock(TodoBatchResult.class);
+        when(result.getOutcomes()).thenReturn(Map.of(1L, TodoBatchResult.Outcome.DELETED));
+        when(todoService.deleteAll(Arrays.asList(1L))).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/todo/deleteAll").with(csrf())
+                .param("todoIds", "1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/todo/list"))
+                .andExpect(flash().attributeExists("resultMessages"));
+
+        verify(todoService).deleteAll(Arrays.asList(1L));
+    }
+
+    @Test
+    void finishAll_doesNotCallService_whenNothingSelected() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/todo/finishAll").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/todo/list"))
+                .andExpect(flash().attributeExists("resultMessages"));
+
+        verify(todoService, never()).finishAll(anyCollection());
+    }
+
+    private TodoPage createSamplePage(TodoCursor nextCursor) {
+        return new TodoPage(Arrays.asList(TodoSummary.of(createSampleTodo())), nextCursor);
     }
 
     private Todo createSampleTodo() {
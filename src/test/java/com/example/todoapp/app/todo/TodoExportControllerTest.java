@@ -0,0 +1,81 @@
+package com.example.todoapp.app.todo;
+
+import com.example.todoapp.config.DevSecurityConfig;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoExportController.class)
+@Import(DevSecurityConfig.class)
+class TodoExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoService todoService;
+
+    @BeforeEach
+    void setUp() {
+        TodoSummary first = new TodoSummary(2L, "Buy milk, eggs", false, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        TodoSummary second = new TodoSummary(1L, "Say \"hi\"", true, LocalDateTime.of(2024, 1, 1, 0, 0, 0));
+        doAnswer(invocation -> {
+            Consumer<TodoSummary> sink = invocation.getArgument(0);
+            sink.accept(first);
+            sink.accept(second);
+            return null;
+        }).when(todoService).exportAll(any());
+    }
+
+    @Test
+    void export_streamsCsvByDefault() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/todo/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"todos.csv\""))
+                .andExpect(content().string("todoId,todoTitle,finished,createdAt\n"
+                        + "2,\"Buy milk, eggs\",false,2024-01-02T03:04:05\n"
+                        + "1,\"Say \"\"hi\"\"\",true,2024-01-01T00:00\n"));
+    }
+
+    @Test
+    void export_streamsNdjson() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/todo/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(
+                        "{\"todoId\":2,\"todoTitle\":\"Buy milk, eggs\",\"finished\":false,\"createdAt\":\"2024-01-02T03:04:05\"}\n"
+                        + "{\"todoId\":1,\"todoTitle\":\"Say \\\"hi\\\"\",\"finished\":true,\"createdAt\":\"2024-01-01T00:00\"}\n"));
+    }
+}
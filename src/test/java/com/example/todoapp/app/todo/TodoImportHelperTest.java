@@ -0,0 +1,171 @@
+package com.example.todoapp.app.todo;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.service.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TodoImportHelperTest {
+
+    private ValidatorFactory validatorFactory;
+
+    private TodoImportHelper helper;
+
+    private TodoService todoService;
+
+    // ヘルパーはチャンクのリストを再利用するため、呼び出し時点の内容を複製して記録する
+    private final List<List<Todo>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        todoService = mock(TodoService.class);
+        helper = new TodoImportHelper();
+        helper.todoService = todoService;
+        helper.validator = validatorFactory.getValidator();
+        helper.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        when(todoService.createAll(anyList())).thenAnswer(invocation -> {
+            List<Todo> batch = new ArrayList<>(invocation.<List<Todo>>getArgument(0));
+            batches.add(batch);
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importTodos_readsCsvWithHeader_inAnyColumnOrder() throws Exception {
+        // Given
+        String csv = "finished,todoTitle,createdAt\n"
+                + "true,\"Buy milk, eggs\",2024-01-02T03:04:05.123456789\n"
+                + ",Walk the dog,\n";
+
+        // When
+        TodoImportResult result = helper.importTodos(stream(csv), TodoImportHelper.Format.CSV);
+
+        // Then
+        assertThat(batches).hasSize(1);
+        List<Todo> saved = batches.get(0);
+        assertThat(result.getTotalRows()).isEqualTo(2);
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getRejectedRows()).isZero();
+        assertThat(saved).extracting(Todo::getTodoTitle).containsExactly("Buy milk, eggs", "Walk the dog");
+        assertThat(saved.get(0).isFinished()).isTrue();
+        assertThat(saved.get(0).getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000));
+        assertThat(saved.get(1).isFinished()).isFalse();
+    }
+
+    @Test
+    void importTodos_rejectsMalformedHeaderLine_andImportsTheRest() throws Exception {
+        // Given
+        String csv = "\"todoTitle,finished\n"
+                + "Walk the dog,false\n";
+
+        // When
+        TodoImportResult result = helper.importTodos(stream(csv), TodoImportHelper.Format.CSV);
+
+        // Then
+        assertThat(result.getTotalRows()).isEqualTo(2);
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(TodoImportResult.RowError::getLine).containsExactly(1L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Unterminated quoted field");
+        assertThat(batches.get(0)).extracting(Todo::getTodoTitle).containsExactly("Walk the dog");
+    }
+
+    @Test
+    void importTodos_readsNdjson_andReportsBadRowsByLine() throws Exception {
+        // Given
+        String ndjson = "{\"todoTitle\":\"one\",\"finished\":true}\n"
+                + "{\"todoTitle\":\"\"}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"todoTitle\":\"two\",\"createdAt\":\"yesterday\"}\n"
+                + "{\"todoTitle\":\"this title is far longer than thirty characters\"}\n"
+                + "{\"todoTitle\":\"three\",\"finished\":\"maybe\"}\n";
+
+        // When
+        TodoImportResult result = helper.importTodos(stream(ndjson), TodoImportHelper.Format.NDJSON);
+
+        // Then
+        assertThat(result.getTotalRows()).isEqualTo(6);
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getRejectedRows()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(TodoImportResult.RowError::getLine)
+                .containsExactly(2L, 3L, 5L, 6L, 7L);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("todoTitle");
+    }
+
+    @Test
+    void importTodos_persistsInFixedSizeChunks() throws Exception {
+        // Given
+        StringBuilder csv = new StringBuilder();
+        int rows = TodoImportHelper.CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < rows; i++) {
+            csv.append("Todo ").append(i).append(",true\n");
+        }
+
+        // When
+        TodoImportResult result = helper.importTodos(stream(csv.toString()), TodoImportHelper.Format.CSV);
+
+        // Then
+        assertThat(batches).extracting(List::size)
+                .containsExactly(TodoImportHelper.CHUNK_SIZE, TodoImportHelper.CHUNK_SIZE, 1);
+        assertThat(result.getImportedRows()).isEqualTo(rows);
+    }
+
+    @Test
+    void importTodos_rejectsRowsNotAdmittedByService_andCapsReportedErrors() throws Exception {
+        // Given
+        when(todoService.createAll(anyList())).thenReturn(new ArrayList<>());
+        StringBuilder csv = new StringBuilder("todoTitle\n");
+        int rows = TodoImportHelper.MAX_REPORTED_ERRORS + 10;
+        for (int i = 0; i < rows; i++) {
+            csv.append("Todo ").append(i).append('\n');
+        }
+
+        // When
+        TodoImportResult result = helper.importTodos(stream(csv.toString()), TodoImportHelper.Format.CSV);
+
+        // Then
+        assertThat(result.getImportedRows()).isZero();
+        assertThat(result.getRejectedRows()).isEqualTo(rows);
+        assertThat(result.getErrors()).hasSize(TodoImportHelper.MAX_REPORTED_ERRORS);
+        assertThat(result.isErrorsTruncated()).isTrue();
+        assertThat(result.getErrors().get(0).getLine()).isEqualTo(2L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("[E001] The count of un-finished Todo must not be over 5.");
+    }
+
+    @Test
+    void format_isDetectedFromFilenameOrContentType() {
+        assertThat(TodoImportHelper.Format.of("todos.ndjson", null)).isEqualTo(TodoImportHelper.Format.NDJSON);
+        assertThat(TodoImportHelper.Format.of("todos.jsonl", "application/octet-stream"))
+                .isEqualTo(TodoImportHelper.Format.NDJSON);
+        assertThat(TodoImportHelper.Format.of(null, "application/x-ndjson;charset=UTF-8"))
+                .isEqualTo(TodoImportHelper.Format.NDJSON);
+        assertThat(TodoImportHelper.Format.of("todos.csv", "text/csv")).isEqualTo(TodoImportHelper.Format.CSV);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
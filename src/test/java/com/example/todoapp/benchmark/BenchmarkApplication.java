@@ -0,0 +1,63 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.TodoApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application for one run of a benchmark.
+ * <p>
+ * Each run gets a freshly started application on a database of its own, so that runs compared with each
+ * other share no data, caches or sessions. SQL and request logging is turned down so that it does not
+ * dominate the measurement. Close the returned context at the end of the run.
+ */
+final class BenchmarkApplication {
+
+    private static final List<String> QUIET_LOGGING = List.of(
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.example.todoapp=INFO",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the web application on random ports with an in-memory database named {@code database}.
+     */
+    static ConfigurableApplicationContext startWeb(String database, String... profiles) {
+        return start(WebApplicationType.SERVLET, profiles,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.thymeleaf.cache=true");
+    }
+
+    /**
+     * Starts the application with the given {@code --name=value} arguments, which take precedence over
+     * {@code application.properties}.
+     */
+    static ConfigurableApplicationContext start(WebApplicationType type, String[] profiles, String... arguments) {
+        List<String> args = new ArrayList<>(QUIET_LOGGING);
+        args.addAll(List.of(arguments));
+        // 既定プロパティ(properties())はapplication.propertiesより優先度が低く上書きできないため、起動引数で渡す
+        return new SpringApplicationBuilder(TodoApplication.class)
+                .web(type)
+                .profiles(profiles)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * The URL of the application port of a context started with {@link #startWeb}.
+     */
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.loadtest.TodoScreenClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and p99 latency of {@code /todo/list} and {@code /todo/create} on platform threads
+ * (default) and on virtual threads ({@code vthreads} profile).
+ * <p>
+ * Each execution model is a separate {@link BenchmarkApplication} run. Every client repeats: create a
+ * TODO, show the list, then finish the unfinished TODOs shown so that the unfinished limit does not turn
+ * most creates into rejections. Only create and list are measured.
+ * The defaults put more clients than Tomcat's 200 platform threads on the server; override them with
+ * {@code -Dbenchmark.execution.clients}, {@code -Dbenchmark.execution.warmup-seconds} and
+ * {@code -Dbenchmark.execution.duration-seconds}.
+ * The virtual thread run falls back to platform threads below JDK 21, which the report states.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RequestExecutionBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.execution.clients", 400);
+
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.execution.warmup-seconds", 5);
+
+    private static final int MEASURED_SECONDS = Integer.getInteger("benchmark.execution.duration-seconds", 15);
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(run("platform", "dev"));
+        report.add(run("virtual", "dev", "vthreads"));
+
+        System.out.println();
+        System.out.println("=== Request execution model (" + CLIENTS + " clients, " + MEASURED_SECONDS + " s, JDK "
+                + JavaVersion.getJavaVersion() + ") ===");
+        report.forEach(System.out::println);
+        if (!JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            System.out.println("(virtual threads need JDK 21+; the \"virtual\" run used platform threads)");
+        }
+    }
+
+    private String run(String name, String... profiles) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkApplication.startWeb("executionbench-" + name, profiles);
+        try {
+            String baseUrl = BenchmarkApplication.baseUrl(context);
+
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(MEASURED_SECONDS);
+            List<Future<Client>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                Client client = new Client(baseUrl, warmupEnd, end);
+                futures.add(clients.submit(() -> {
+                    client.run();
+                    return client;
+                }));
+            }
+            Samples list = new Samples();
+            Samples create = new Samples();
+            long errors = 0;
+            for (Future<Client> future : futures) {
+                Client client = future.get();
+                list.addAll(client.list);
+                create.addAll(client.create);
+                errors += client.errors;
+            }
+            clients.shutdown();
+
+            return String.format("%-9s list %s%n%-9s create %s%n%-9s errors %,d",
+                    name, list.summary(MEASURED_SECONDS), "", create.summary(MEASURED_SECONDS), "", errors);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static final class Client {
+
+        private final TodoScreenClient screen;
+
+        private final long warmupEnd;
+
+        private final long end;
+
+        final Samples list = new Samples();
+
+        final Samples create = new Samples();
+
+        long errors;
+
+        Client(String baseUrl, long warmupEnd, long end) {
+            this.screen = new TodoScreenClient(baseUrl);
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+        }
+
+        void run() {
+            try {
+                screen.list();
+            } catch (IOException | InterruptedException e) {
+                errors++;
+                return;
+            }
+            while (System.nanoTime() < end) {
+                try {
+                    long start = System.nanoTime();
+                    int status = screen.post("/todo/create", "todoTitle=Load+test");
+                    // 上限超過時は一覧画面(200)が返る。いずれも正常な応答として計測する
+                    record(create, start, status == 302 || status == 200);
+
+                    start = System.nanoTime();
+                    record(list, start, screen.list() == 200);
+
+                    if (!screen.unfinishedIds().isEmpty()) {
+                        String ids = screen.unfinishedIds().stream().map(id -> "todoIds=" + id)
+                                .collect(Collectors.joining("&"));
+                        screen.post("/todo/finishAll", ids);
+                    }
+                } catch (IOException | InterruptedException e) {
+                    errors++;
+                }
+            }
+        }
+
+        private void record(Samples samples, long start, boolean ok) {
+            long now = System.nanoTime();
+            if (!ok) {
+                errors++;
+            } else if (start >= warmupEnd && now <= end) {
+                samples.add(now - start);
+            }
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+
+        private int size;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i]);
+            }
+        }
+
+        String summary(int seconds) {
+            if (size == 0) {
+                return "no samples";
+            }
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return String.format("%,10.0f req/s  p50 %8.2f ms  p99 %8.2f ms", (double) size / seconds,
+                    sorted[(int) (size * 0.50)] / 1e6, sorted[Math.min(size - 1, (int) (size * 0.99))] / 1e6);
+        }
+    }
+}
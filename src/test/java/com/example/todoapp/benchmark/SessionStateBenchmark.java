@@ -0,0 +1,158 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.loadtest.TodoScreenClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Heap retained per user and security filter chain time per request, with the default session-based
+ * security configuration and with the {@code stateless} profile.
+ * <p>
+ * Each mode is a separate {@link BenchmarkApplication} run. Every user shows the list, creates a TODO,
+ * finishes the unfinished TODOs shown (both redirect with a flash message) and shows the list again,
+ * keeping its cookies. The heap used after a full GC is compared with the heap
+ * before the users arrived; with sessions, each user keeps one until {@code server.servlet.session.timeout}.
+ * The users' cookie jars live in the same JVM and count in both modes. Afterwards every user requests the
+ * list again and the {@code sec} phase of the {@code Server-Timing} header is averaged.
+ * Override the defaults with {@code -Dbenchmark.session.users} and {@code -Dbenchmark.session.clients}.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SessionStateBenchmark {
+
+    private static final int USERS = Integer.getInteger("benchmark.session.users", 5_000);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.session.clients", 16);
+
+    private static final int MEASURED_REQUESTS_PER_USER = 5;
+
+    private static final Pattern SECURITY_DURATION = Pattern.compile("sec;desc=\"Security\";dur=(\\d+\\.\\d+)");
+
+    private final HttpClient http = TodoScreenClient.newHttpClient();
+
+    @Test
+    void sessionVersusStateless() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(run("session", "dev"));
+        report.add(run("stateless", "dev", "stateless"));
+
+        System.out.println();
+        System.out.println("=== Session state (" + USERS + " users, " + CLIENTS + " clients) ===");
+        report.forEach(System.out::println);
+    }
+
+    private String run(String name, String... profiles) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkApplication.startWeb("sessionbench-" + name, profiles);
+        try {
+            String baseUrl = BenchmarkApplication.baseUrl(context);
+
+            // ウォームアップ(テンプレート・クラスのロード)を済ませてから基準値を取る
+            forEachUser(List.of(new User(baseUrl), new User(baseUrl)), User::visit);
+            long before = usedHeapAfterGc();
+
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                users.add(new User(baseUrl));
+            }
+            long errors = forEachUser(users, User::visit);
+            long after = usedHeapAfterGc();
+
+            for (User user : users) {
+                user.securityMillis.clear();
+            }
+            errors += forEachUser(users, user -> {
+                for (int i = 0; i < MEASURED_REQUESTS_PER_USER; i++) {
+                    user.list();
+                }
+            });
+            double securityMillis = users.stream().flatMap(user -> user.securityMillis.stream())
+                    .mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+            long sessions = users.stream().filter(user -> user.screen.hasCookie("JSESSIONID")).count();
+
+            return String.format("%-9s heap/user %8.2f KiB  sec phase %6.3f ms/request  sessions %,d  errors %,d",
+                    name, (after - before) / 1024.0 / USERS, securityMillis, sessions, errors);
+        } finally {
+            context.close();
+        }
+    }
+
+    private long forEachUser(List<User> users, UserTask task) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (User user : users) {
+                futures.add(clients.submit(() -> {
+                    try {
+                        task.run(user);
+                        return true;
+                    } catch (IOException | InterruptedException e) {
+                        return false;
+                    }
+                }));
+            }
+            long errors = 0;
+            for (Future<Boolean> future : futures) {
+                if (!future.get()) {
+                    errors++;
+                }
+            }
+            return errors;
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @FunctionalInterface
+    private interface UserTask {
+        void run(User user) throws IOException, InterruptedException;
+    }
+
+    private final class User {
+
+        final TodoScreenClient screen;
+
+        final List<Double> securityMillis = new ArrayList<>();
+
+        User(String baseUrl) {
+            this.screen = new TodoScreenClient(http, baseUrl);
+        }
+
+        void visit() throws IOException, InterruptedException {
+            list();
+            screen.post("/todo/create", "todoTitle=Session+bench");
+            list();
+            if (!screen.unfinishedIds().isEmpty()) {
+                screen.post("/todo/finishAll",
+                        screen.unfinishedIds().stream().map(id -> "todoIds=" + id).collect(Collectors.joining("&")));
+            }
+            list();
+        }
+
+        void list() throws IOException, InterruptedException {
+            screen.list();
+            screen.lastHeader("Server-Timing").map(SECURITY_DURATION::matcher).filter(Matcher::find)
+                    .ifPresent(matcher -> securityMillis.add(Double.parseDouble(matcher.group(1))));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Insert throughput on H2 with and without Hibernate JDBC batching.
+ * <p>
+ * The unbatched variant forces a JDBC batch size of 1 on the session, so every row is its
+ * own INSERT round trip, which is what the previous {@code GenerationType.IDENTITY} mapping
+ * forced. Both variants run interleaved in the same JVM so that JIT warm-up affects them
+ * equally. The database is reached through a local H2 TCP server, because an embedded
+ * in-memory H2 has no round trip for batching to save.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:tcp://localhost:${benchmark.h2.port}/mem:insertbench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+class TodoInsertBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 500;
+
+    private static final int TRANSACTIONS = 40;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final Server H2_SERVER;
+
+    static {
+        try {
+            H2_SERVER = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        System.setProperty("benchmark.h2.port", String.valueOf(H2_SERVER.getPort()));
+    }
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @AfterAll
+    static void stopServer() {
+        H2_SERVER.stop();
+    }
+
+    @Test
+    void insertThroughput() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            insertRound(1);
+            insertRound(null);
+        }
+        long unbatchedNanos = 0;
+        long batchedNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            unbatchedNanos += insertRound(1);
+            batchedNanos += insertRound(null);
+        }
+
+        long rows = (long) ROWS_PER_TRANSACTION * TRANSACTIONS * MEASURED_ROUNDS;
+        System.out.println();
+        System.out.println("=== Todo insert throughput (H2 over TCP, "
+                + ROWS_PER_TRANSACTION + " rows/transaction) ===");
+        System.out.printf("%-12s %,12.0f rows/s%n", "unbatched", rows / (unbatchedNanos / 1e9));
+        System.out.printf("%-12s %,12.0f rows/s%n", "batched", rows / (batchedNanos / 1e9));
+    }
+
+    /**
+     * @param jdbcBatchSize session-level override, or {@code null} for the configured batch size
+     */
+    private long insertRound(Integer jdbcBatchSize) {
+        transactionTemplate.executeWithoutResult(status -> todoRepository.deleteAllInBatch());
+        long start = System.nanoTime();
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                List<Todo> todos = new ArrayList<>(ROWS_PER_TRANSACTION);
+                for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                    Todo todo = new Todo("Benchmark " + i);
+                    todo.setFinished(true);
+                    todos.add(todo);
+                }
+                todoRepository.saveAll(todos);
+            });
+        }
+        return System.nanoTime() - start;
+    }
+}
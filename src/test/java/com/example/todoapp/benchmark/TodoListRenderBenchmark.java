@@ -0,0 +1,102 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.app.todo.TodoListFragmentCache;
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.service.TodoReadModel;
+import com.example.todoapp.domain.service.TodoService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Render time of the TODO list rows with and without {@link TodoListFragmentCache}.
+ * <p>
+ * "uncached" reads the page and evaluates {@code todo/items.html} for every row on every
+ * call, as the list did before the cache. "cached" is the steady state between two changes:
+ * the revision is unchanged, so the rendered HTML is returned as is. Thymeleaf runs with its
+ * template cache enabled, as in the prod profile.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:renderbench",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.thymeleaf.cache=true",
+        "todo.read-model.enabled=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+class TodoListRenderBenchmark {
+
+    private static final int[] ROW_COUNTS = {1_000, 10_000};
+
+    private static final int WARMUP_ITERATIONS = 20;
+
+    private static final int MEASURED_ITERATIONS = 50;
+
+    @Autowired
+    TodoListFragmentCache todoListFragmentCache;
+
+    @Autowired
+    TodoService todoService;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TodoReadModel todoReadModel;
+
+    @Test
+    void renderTime() {
+        System.out.println();
+        System.out.println("=== Todo list row rendering (average per request) ===");
+        for (int rows : ROW_COUNTS) {
+            seed(rows);
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                renderUncached(rows);
+                todoListFragmentCache.get(null, rows);
+            }
+            long uncachedNanos = 0;
+            long cachedNanos = 0;
+            int length = 0;
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                long start = System.nanoTime();
+                length = renderUncached(rows);
+                uncachedNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                length = todoListFragmentCache.get(null, rows).getHtml().length();
+                cachedNanos += System.nanoTime() - start;
+            }
+            System.out.printf("%,7d rows (%,d chars)  uncached %10.3f ms  cached %10.3f ms%n", rows, length,
+                    uncachedNanos / 1e6 / MEASURED_ITERATIONS, cachedNanos / 1e6 / MEASURED_ITERATIONS);
+        }
+    }
+
+    private int renderUncached(int rows) {
+        TodoPage page = todoService.findPage(null, rows);
+        return todoListFragmentCache.render(page).getHtml().length();
+    }
+
+    private void seed(int rows) {
+        todoRepository.deleteAllInBatch();
+        List<Todo> todos = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Todo todo = new Todo("Benchmark " + i);
+            // 未完了件数の上限(5件)に掛からないよう、先頭の5件以外は完了済みとする
+            todo.setFinished(i >= 5);
+            todos.add(todo);
+        }
+        todoService.createAll(todos);
+        todoReadModel.rebuild();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.service.TodoService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second versus commits per second for single-todo writes, with each call committing its own
+ * transaction and with the group-commit {@code TodoWritePipeline}.
+ * <p>
+ * Each mode is a separate {@link BenchmarkApplication} run, on a file-based H2 database (written on every
+ * commit) because an in-memory database has no commit cost for group commit to save. Every client repeatedly
+ * creates a TODO and then finishes or deletes it; creates rejected by the unfinished-count limit count as
+ * requests too.
+ * Commits are read from the Hibernate statistics. Override the defaults with
+ * {@code -Dbenchmark.write-pipeline.clients} and {@code -Dbenchmark.write-pipeline.duration-seconds}.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TodoWritePipelineBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.write-pipeline.clients", 32);
+
+    private static final int SECONDS = Integer.getInteger("benchmark.write-pipeline.duration-seconds", 10);
+
+    private static final int WARMUP_SECONDS = 3;
+
+    @TempDir
+    Path databaseDirectory;
+
+    @Test
+    void perCallCommitVersusGroupCommit() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(run("per-call", false));
+        report.add(run("pipeline", true));
+
+        System.out.println();
+        System.out.println("=== Write pipeline (" + CLIENTS + " clients, " + SECONDS + " s) ===");
+        report.forEach(System.out::println);
+    }
+
+    private String run(String name, boolean pipeline) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkApplication.start(WebApplicationType.NONE, new String[0],
+                "--spring.datasource.url=jdbc:h2:file:" + databaseDirectory.resolve(name) + ";WRITE_DELAY=0",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--todo.write-pipeline.enabled=" + pipeline);
+        try {
+            TodoService todoService = context.getBean(TodoService.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                    .getStatistics();
+
+            drive(todoService, WARMUP_SECONDS);
+            statistics.clear();
+            long requests = drive(todoService, SECONDS);
+            long commits = statistics.getSuccessfulTransactionCount();
+
+            String batch = "";
+            if (pipeline) {
+                DistributionSummary batchSizes = context.getBean(MeterRegistry.class)
+                        .find("todo.write-pipeline.batch.size").summary();
+                batch = String.format("  writes/commit(avg since start) %6.2f", batchSizes.mean());
+            }
+            return String.format("%-9s requests/s %,10.0f  commits/s %,10.0f%s",
+                    name, requests / (double) SECONDS, commits / (double) SECONDS, batch);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static long drive(TodoService todoService, int seconds) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                boolean finishFirst = i % 2 == 0;
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    long requests = 0;
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            Todo todo = todoService.create(new Todo("Pipeline bench"));
+                            requests++;
+                            if (finishFirst) {
+                                todoService.finish(todo.getTodoId());
+                                requests++;
+                            }
+                            todoService.delete(todo.getTodoId());
+                            requests++;
+                        } catch (BusinessException | ResourceNotFoundException e) {
+                            // 上限到達による拒否も1リクエストとして数える
+                            requests++;
+                        }
+                    }
+                    return requests;
+                }));
+            }
+            start.countDown();
+            long requests = 0;
+            for (Future<Long> future : futures) {
+                requests += future.get();
+            }
+            return requests;
+        } finally {
+            clients.shutdown();
+        }
+    }
+}
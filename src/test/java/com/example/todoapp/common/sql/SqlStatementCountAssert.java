@@ -0,0 +1,36 @@
+package com.example.todoapp.common.sql;
+
+import org.assertj.core.api.AbstractAssert;
+
+/**
+ * AssertJ assertions on a {@link SqlStatementCounter.Scope}; failures list the statements that were run.
+ */
+public class SqlStatementCountAssert extends AbstractAssert<SqlStatementCountAssert, SqlStatementCounter.Scope> {
+
+    private SqlStatementCountAssert(SqlStatementCounter.Scope actual) {
+        super(actual, SqlStatementCountAssert.class);
+    }
+
+    public static SqlStatementCountAssert assertThatStatements(SqlStatementCounter.Scope actual) {
+        return new SqlStatementCountAssert(actual);
+    }
+
+    public SqlStatementCountAssert hasCount(int expected) {
+        isNotNull();
+        if (actual.getCount() != expected) {
+            failWithMessage("Expected %d SQL statements but %d were run: %s", expected, actual.getCount(),
+                    actual.getStatements());
+        }
+        return this;
+    }
+
+    public SqlStatementCountAssert hasNoRepeatedStatements() {
+        isNotNull();
+        actual.getStatements().forEach((sql, times) -> {
+            if (times > 1) {
+                failWithMessage("Expected no repeated SQL statement but <%s> was run %d times", sql, times);
+            }
+        });
+        return this;
+    }
+}
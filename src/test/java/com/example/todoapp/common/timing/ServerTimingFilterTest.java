@@ -0,0 +1,65 @@
+package com.example.todoapp.common.timing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:servertimingtest",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ServerTimingFilterTest {
+
+    private static final String DURATION = ";dur=\\d+\\.\\d{3}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listPage_reportsSecurityHandlerAndRenderTime() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/todo/list"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.SERVER_TIMING_HEADER, matchesPattern(
+                        "sec;desc=\"Security\"" + DURATION + ", app;desc=\"Handler\"" + DURATION
+                                + ", (db;desc=\"Database\"" + DURATION + ", )?view;desc=\"View render\"" + DURATION
+                                + ", total" + DURATION)));
+    }
+
+    @Test
+    void create_reportsDatabaseTimeAndWritesAccessLog(CapturedOutput output) throws Exception {
+        // When & Then
+        mockMvc.perform(post("/todo/create").with(csrf()).param("todoTitle", "Timed Todo"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(header().string(ServerTimingFilter.SERVER_TIMING_HEADER,
+                        containsString("db;desc=\"Database\";dur=")));
+
+        assertThat(output).containsPattern("method=POST uri=/todo/create status=302 total=\\d+\\.\\d{3} "
+                + "sec=\\d+\\.\\d{3} app=\\d+\\.\\d{3} db=\\d+\\.\\d{3} view=\\d+\\.\\d{3} db_statements=[1-9]");
+    }
+
+    @Test
+    void appendMillis_writesMillisecondsWithThreeDecimals() {
+        assertThat(ServerTiming.appendMillis(new StringBuilder(), 1_234_567L)).hasToString("1.234");
+        assertThat(ServerTiming.appendMillis(new StringBuilder(), 5_000L)).hasToString("0.005");
+        assertThat(ServerTiming.appendMillis(new StringBuilder(), 12_000_000_000L)).hasToString("12000.000");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.common.flash.CookieFlashMapManager;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.session.ConcurrentSessionFilter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statelesssessiontest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.security.stateless=true",
+        "todo.flash.cookie-secret=stateless-session-test"
+})
+class StatelessSessionConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Test
+    void filterChain_hasNoConcurrentSessionFilter() {
+        assertThat(filterChainProxy.getFilterChains())
+                .allSatisfy(chain -> assertThat(chain.getFilters()).noneMatch(ConcurrentSessionFilter.class::isInstance));
+    }
+
+    @Test
+    void create_carriesFlashMessageInCookie_withoutSession() throws Exception {
+        // When
+        MvcResult created = mockMvc.perform(post("/todo/create").with(csrf()).param("todoTitle", "Stateless Todo"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/todo/list"))
+                .andReturn();
+
+        // Then
+        assertThat(created.getRequest().getSession(false)).isNull();
+        Cookie flash = created.getResponse().getCookie(CookieFlashMapManager.COOKIE_NAME);
+        assertThat(flash).isNotNull();
+
+        // When
+        MvcResult listed = mockMvc.perform(get("/todo/list").cookie(flash))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertThat(listed.getRequest().getSession(false)).isNull();
+        assertThat(listed.getResponse().getContentAsString()).contains("Created successfully!");
+        assertThat(listed.getResponse().getCookie(CookieFlashMapManager.COOKIE_NAME).getMaxAge()).isZero();
+    }
+
+    @Test
+    void list_ignoresTamperedFlashCookie() throws Exception {
+        // Given
+        MvcResult created = mockMvc.perform(post("/todo/create").with(csrf()).param("todoTitle", "Tampered Todo"))
+                .andReturn();
+        String value = created.getResponse().getCookie(CookieFlashMapManager.COOKIE_NAME).getValue();
+        // 署名部分の1文字を書き換える
+        char replaced = value.charAt(5) == 'A' ? 'B' : 'A';
+        Cookie tampered = new Cookie(CookieFlashMapManager.COOKIE_NAME,
+                value.substring(0, 5) + replaced + value.substring(6));
+
+        // When
+        MvcResult listed = mockMvc.perform(get("/todo/list").cookie(tampered))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertThat(listed.getResponse().getContentAsString()).doesNotContain("Created successfully!");
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.todoapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:staticresourcetest",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class StaticResourceConfigTest {
+
+    private static final Pattern VERSIONED_STYLESHEET = Pattern.compile("/css/style-[0-9a-f]{32}\\.css");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listPage_linksContentHashedStylesheet() throws Exception {
+        // When
+        String html = mockMvc.perform(get("/todo/list"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(html).containsPattern(VERSIONED_STYLESHEET);
+    }
+
+    @Test
+    void versionedStylesheet_isServedWithFarFutureCacheControl() throws Exception {
+        // Given
+        String url = versionedStylesheetUrl();
+
+        // When & Then
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void versionedStylesheet_isServedPrecompressed_whenClientAcceptsGzip() throws Exception {
+        // Given
+        String url = versionedStylesheetUrl();
+
+        // When
+        MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        // Then (gzipのマジックナンバー)
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertThat(body[0]).isEqualTo((byte) 0x1f);
+        assertThat(body[1]).isEqualTo((byte) 0x8b);
+    }
+
+    private String versionedStylesheetUrl() throws Exception {
+        String html = mockMvc.perform(get("/todo/list")).andReturn().getResponse().getContentAsString();
+        Matcher matcher = VERSIONED_STYLESHEET.matcher(html);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group();
+    }
+}
@@ -1,18 +1,34 @@
 package com.example.todoapp.domain.repository;
 
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-@DataJpaTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.todoapp.domain.repository.TodoRepositoryTest$RecordingStatementInspector"
+})
 class TodoRepositoryTest {
 
+    private static final String OWNER = Todo.ANONYMOUS_OWNER;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -20,7 +36,7 @@ class TodoRepositoryTest {
     private TodoRepository todoRepository;
 
     @Test
-    void countByFinished_returnsCorrectCount() {
+    void countByOwnerAndFinished_returnsCorrectCount() {
         // Given
         Todo finishedTodo = new Todo("Finished Todo");
         finishedTodo.setFinished(true);
@@ -33,8 +49,8 @@ class TodoRepositoryTest {
         entityManager.flush();
 
         // When
-        long finishedCount = todoRepository.countByFinished(true);
-        long unfinishedCount = todoRepository.countByFinished(false);
+        long finishedCount = todoRepository.countByOwnerAndFinished(OWNER, true);
+        long unfinishedCount = todoRepository.countByOwnerAndFinished(OWNER, false);
 
         // Then
         assertThat(finishedCount).isEqualTo(1);
@@ -42,7 +58,7 @@ class TodoRepositoryTest {
     }
 
     @Test
-    void findAllByOrderByCreatedAtDesc_returnsInDescendingOrder() {
+    void summaryQueries_returnNewestFirst() {
         // Given
         Todo oldTodo = new Todo("Old Todo");
         entityManager.persist(oldTodo);
@@ -53,16 +69,16 @@ class TodoRepositoryTest {
         entityManager.flush();
 
         // When
-        List<Todo> todos = todoRepository.findAllByOrderByCreatedAtDesc();
+        List<TodoSummary> page = todoRepository.findFirstPage(OWNER, 21);
+        List<TodoSummary> all = todoRepository.findAllSummaries(OWNER);
 
         // Then
-        assertThat(todos).hasSize(2);
-        assertThat(todos.get(0).getTodoTitle()).isEqualTo("New Todo");
-        assertThat(todos.get(1).getTodoTitle()).isEqualTo("Old Todo");
+        assertThat(page).extracting(TodoSummary::getTodoTitle).containsExactly("New Todo", "Old Todo");
+        assertThat(all).extracting(TodoSummary::getTodoTitle).containsExactly("New Todo", "Old Todo");
     }
 
     @Test
-    void findByFinishedOrderByCreatedAtDesc_returnsFilteredTodos() {
+    void findSummariesByIds_returnsFinishedFlagOfEachTodo() {
         // Given
         Todo finishedTodo = new Todo("Finished Todo");
         finishedTodo.setFinished(true);
@@ -75,14 +91,220 @@ class TodoRepositoryTest {
         entityManager.flush();
 
         // When
-        List<Todo> finishedTodos = todoRepository.findByFinishedOrderByCreatedAtDesc(true);
-        List<Todo> unfinishedTodos = todoRepository.findByFinishedOrderByCreatedAtDesc(false);
+        List<TodoSummary> todos = todoRepository.findSummariesByIds(OWNER,
+                List.of(finishedTodo.getTodoId(), unfinishedTodo.getTodoId()));
+
+        // Then
+        assertThat(todos).extracting(TodoSummary::getTodoTitle, TodoSummary::isFinished)
+                .containsExactlyInAnyOrder(tuple("Finished Todo", true), tuple("Unfinished Todo", false));
+    }
+
+    @Test
+    void keysetPages_walkWholeTableInOrder_includingCreatedAtTies() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Todo todo = new Todo("Todo " + i);
+            // 2件ずつ同じ作成日時にして、todoIdでの順序付けも検証する
+            todo.setCreatedAt(base.plusMinutes(i / 2));
+            entityManager.persist(todo);
+            expectedIds.add(0, todo.getTodoId());
+        }
+        entityManager.flush();
+
+        // When
+        List<Long> actualIds = new ArrayList<>();
+        List<TodoSummary> page = todoRepository.findFirstPage(OWNER, 3);
+        while (!page.isEmpty()) {
+            page.forEach(todo -> actualIds.add(todo.getTodoId()));
+            TodoSummary last = page.get(page.size() - 1);
+            page = todoRepository.findPageAfter(OWNER, last.getCreatedAt(), last.getTodoId(), 3);
+        }
+
+        // Then
+        assertThat(actualIds).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    void keysetPages_neverUseOffset() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Todo("Todo " + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        // When
+        List<TodoSummary> page = todoRepository.findFirstPage(OWNER, 2);
+        while (!page.isEmpty()) {
+            TodoSummary last = page.get(page.size() - 1);
+            page = todoRepository.findPageAfter(OWNER, last.getCreatedAt(), last.getTodoId(), 2);
+        }
+
+        // Then
+        assertThat(RecordingStatementInspector.STATEMENTS).hasSize(4);
+        assertThat(RecordingStatementInspector.STATEMENTS)
+                .allSatisfy(sql -> assertThat(sql.toLowerCase()).doesNotContain("offset"));
+    }
+
+    @Test
+    void keysetPageQuery_isServedByOwnerIndex() {
+        // When
+        String plan = (String) entityManager.getEntityManager().createNativeQuery(
+                "EXPLAIN SELECT * FROM todo WHERE owner = 'anonymous' AND (created_at < CURRENT_TIMESTAMP"
+                        + " OR (created_at = CURRENT_TIMESTAMP AND todo_id < 10))"
+                        + " ORDER BY created_at DESC, todo_id DESC FETCH FIRST 21 ROWS ONLY")
+                .getSingleResult();
+
+        // Then
+        assertThat(plan.toUpperCase()).contains("IDX_TODO_OWNER_");
+        assertThat(plan.toLowerCase()).doesNotContain("tablescan");
+    }
+
+    @Test
+    void ownerScopedQueries_neverSeeOtherOwnersTodos() {
+        // Given
+        Todo mine = new Todo("Mine");
+        entityManager.persist(mine);
+        Todo others = new Todo("Others");
+        others.setOwner("bob");
+        entityManager.persist(others);
+        entityManager.flush();
+
+        // When
+        List<TodoSummary> page = todoRepository.findFirstPage(OWNER, 21);
+        int finished = todoRepository.finishById(OWNER, others.getTodoId());
+        int deleted = todoRepository.deleteRowById(OWNER, others.getTodoId());
 
         // Then
-        assertThat(finishedTodos).hasSize(1);
-        assertThat(finishedTodos.get(0).getTodoTitle()).isEqualTo("Finished Todo");
-        
-        assertThat(unfinishedTodos).hasSize(1);
-        assertThat(unfinishedTodos.get(0).getTodoTitle()).isEqualTo("Unfinished Todo");
+        assertThat(page).extracting(TodoSummary::getTodoId).containsExactly(mine.getTodoId());
+        assertThat(finished).isZero();
+        assertThat(deleted).isZero();
+        assertThat(todoRepository.findSummaryById(OWNER, others.getTodoId())).isEmpty();
+        assertThat(todoRepository.findSummaryById("bob", others.getTodoId())).isPresent();
+        assertThat(todoRepository.findAllOwners()).containsExactlyInAnyOrder(OWNER, "bob");
+        assertThat(todoRepository.countUnfinishedGroupByOwner())
+                .extracting(TodoRepository.OwnerCount::getOwner, TodoRepository.OwnerCount::getTodoCount)
+                .containsExactlyInAnyOrder(tuple(OWNER, 1L), tuple("bob", 1L));
+    }
+
+    @Test
+    void streamAll_readsRowsInKeysetOrder() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Todo todo = new Todo("Todo " + i);
+            todo.setCreatedAt(base.plusMinutes(i / 2));
+            entityManager.persist(todo);
+            expectedIds.add(0, todo.getTodoId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Long> actualIds;
+        try (Stream<TodoSummary> todos = todoRepository.streamByOwnerOrderByCreatedAtDesc(OWNER)) {
+            actualIds = todos.map(TodoSummary::getTodoId).toList();
+        }
+
+        // Then
+        assertThat(actualIds).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    void summaryQueries_instantiateNoEntity() {
+        // Given
+        Todo todo = new Todo("Projected");
+        entityManager.persist(todo);
+        entityManager.flush();
+        entityManager.clear();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        Statistics statistics = session.getSessionFactory().getStatistics();
+        statistics.clear();
+
+        // When
+        List<TodoSummary> page = todoRepository.findFirstPage(OWNER, 21);
+        List<TodoSummary> all = todoRepository.findAllSummaries(OWNER);
+
+        // Then
+        assertThat(page).containsExactly(TodoSummary.of(todo));
+        assertThat(all).containsExactly(TodoSummary.of(todo));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(session.getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void finishById_updatesOnlyUnfinishedRow_andBumpsVersion() {
+        // Given
+        Todo todo = new Todo("To finish");
+        entityManager.persist(todo);
+        entityManager.flush();
+        long version = todo.getVersion();
+
+        // When
+        int first = todoRepository.finishById(OWNER, todo.getTodoId());
+        int second = todoRepository.finishById(OWNER, todo.getTodoId());
+        int missing = todoRepository.finishById(OWNER, -1L);
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(missing).isZero();
+        Todo reloaded = entityManager.find(Todo.class, todo.getTodoId());
+        assertThat(reloaded.isFinished()).isTrue();
+        assertThat(reloaded.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void deleteUnfinishedById_keepsFinishedRow() {
+        // Given
+        Todo finished = new Todo("Finished");
+        finished.setFinished(true);
+        entityManager.persist(finished);
+        entityManager.flush();
+
+        // When
+        int unfinishedDeleted = todoRepository.deleteUnfinishedById(OWNER, finished.getTodoId());
+        int deleted = todoRepository.deleteRowById(OWNER, finished.getTodoId());
+
+        // Then
+        assertThat(unfinishedDeleted).isZero();
+        assertThat(deleted).isEqualTo(1);
+        assertThat(todoRepository.existsById(finished.getTodoId())).isFalse();
+    }
+
+    @Test
+    void saveAll_sendsInsertsAsJdbcBatches() {
+        // Given
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            todos.add(new Todo("Batch " + i));
+        }
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        todoRepository.saveAll(todos);
+        entityManager.flush();
+
+        // Then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // バッチサイズ50のINSERT 3回 + pooled-loによる採番 3回
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
     }
-}
\ No newline at end of file
+}
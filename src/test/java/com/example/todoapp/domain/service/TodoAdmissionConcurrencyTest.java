@@ -0,0 +1,208 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admissiontest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "todo.read-model.enabled=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+class TodoAdmissionConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    private static final String OWNER = Todo.ANONYMOUS_OWNER;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private TodoReadModel todoReadModel;
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        for (TodoCounter counter : todoCounterRepository.findAll()) {
+            counter.setCounterValue(0);
+            todoCounterRepository.save(counter);
+        }
+        todoReadModel.rebuild();
+    }
+
+    @Test
+    void concurrentCreates_admitExactlyMaxUnfinished() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < THREADS; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    todoService.create(new Todo("Todo " + n));
+                    created.incrementAndGet();
+                } catch (BusinessException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(created.get()).isEqualTo(5);
+        assertThat(rejected.get()).isEqualTo(THREADS - 5);
+        assertThat(todoRepository.countByOwnerAndFinished(OWNER, false)).isEqualTo(5);
+        assertThat(unfinishedCounter()).isEqualTo(5);
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void concurrentCreatesOfDifferentOwners_admitMaxUnfinishedPerOwner() throws Exception {
+        // Given
+        int owners = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < THREADS; i++) {
+            String owner = "user" + (i % owners);
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new TestingAuthenticationToken(owner, "password", "ROLE_USER"));
+                try {
+                    start.await();
+                    // 所有者毎に上限(5件)を超える回数だけ登録を試みる
+                    for (int j = 0; j < 2; j++) {
+                        try {
+                            todoService.create(new Todo("Todo of " + owner));
+                            created.incrementAndGet();
+                        } catch (BusinessException e) {
+                            // 上限到達による拒否は想定内
+                        }
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(created.get()).isEqualTo(owners * 5);
+        for (int i = 0; i < owners; i++) {
+            assertThat(todoRepository.countByOwnerAndFinished("user" + i, false)).isEqualTo(5);
+            assertThat(unfinishedCounter("user" + i)).isEqualTo(5);
+        }
+        assertThat(todoRepository.countByOwnerAndFinished(OWNER, false)).isZero();
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void concurrentCreateFinishDelete_neverExceedsMaxUnfinished() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong maxObserved = new AtomicLong();
+        List<Future<?>> workers = new ArrayList<>();
+
+        // When
+        Future<?> monitor = executor.submit(() -> {
+            while (running.get()) {
+                long unfinished = todoRepository.countByOwnerAndFinished(OWNER, false);
+                maxObserved.accumulateAndGet(unfinished, Math::max);
+            }
+            return null;
+        });
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                for (int j = 0; j < 20; j++) {
+                    try {
+                        Todo todo = todoService.create(new Todo("Todo"));
+                        if (ThreadLocalRandom.current().nextBoolean()) {
+                            todoService.finish(todo.getTodoId());
+                        } else {
+                            todoService.delete(todo.getTodoId());
+                        }
+                    } catch (BusinessException | ResourceNotFoundException e) {
+                        // 上限到達による拒否は想定内
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        monitor.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertThat(maxObserved.get()).isLessThanOrEqualTo(5);
+        assertThat(todoRepository.countByOwnerAndFinished(OWNER, false)).isZero();
+        assertThat(unfinishedCounter()).isZero();
+        // コミット順と反映順が入れ替わる状況でも、読み取りモデルがDBと一致すること
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    private long unfinishedCounter() {
+        return unfinishedCounter(OWNER);
+    }
+
+    private long unfinishedCounter(String owner) {
+        return todoCounterRepository.findById(TodoCounter.unfinishedKey(owner)).orElseThrow().getCounterValue();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cachetest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // DB側のキャッシュを検証するため、読み取りモデルは使わない
+        "todo.read-model.enabled=false"
+})
+class TodoCacheInvalidationTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAllInBatch();
+        todoCounterRepository.save(new TodoCounter(TodoCounter.unfinishedKey(Todo.ANONYMOUS_OWNER), 0));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedListIsServedFromCaches() {
+        // Given
+        todoService.create(new Todo("Todo 1"));
+        todoService.create(new Todo("Todo 2"));
+        todoService.findPage(null, PAGE_SIZE);
+        statistics.clear();
+
+        // When
+        TodoPage page = todoService.findPage(null, PAGE_SIZE);
+
+        // Then
+        assertThat(page.getTodos()).hasSize(2);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void findById_isServedFromEntityRegion() {
+        // Given
+        Todo todo = todoService.create(new Todo("Todo 1"));
+        statistics.clear();
+
+        // When
+        Todo found = todoRepository.findById(todo.getTodoId()).orElseThrow();
+
+        // Then
+        assertThat(found.getTodoTitle()).isEqualTo("Todo 1");
+        assertThat(statistics.getDomainDataRegionStatistics("todo").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void create_invalidatesCachedList() {
+        // Given
+        todoService.create(new Todo("Todo 1"));
+        todoService.findPage(null, PAGE_SIZE);
+
+        // When
+        todoService.create(new Todo("Todo 2"));
+
+        // Then
+        assertThat(titles(todoService.findPage(null, PAGE_SIZE))).containsExactlyInAnyOrder("Todo 1", "Todo 2");
+    }
+
+    @Test
+    void finish_updatesCachedEntity() {
+        // Given
+        Todo todo = todoService.create(new Todo("Todo 1"));
+        todoService.findPage(null, PAGE_SIZE);
+
+        // When
+        todoService.finish(todo.getTodoId());
+
+        // Then
+        assertThat(todoService.findPage(null, PAGE_SIZE).getTodos().get(0).isFinished()).isTrue();
+    }
+
+    @Test
+    void delete_invalidatesCachedList() {
+        // Given
+        Todo todo = todoService.create(new Todo("Todo 1"));
+        todoService.create(new Todo("Todo 2"));
+        todoService.findPage(null, PAGE_SIZE);
+
+        // When
+        todoService.delete(todo.getTodoId());
+
+        // Then
+        assertThat(titles(todoService.findPage(null, PAGE_SIZE))).containsExactly("Todo 2");
+    }
+
+    @Test
+    void bulkFinishAndDelete_invalidateCachedListAndEntities() {
+        // Given
+        Todo first = todoService.create(new Todo("Todo 1"));
+        Todo second = todoService.create(new Todo("Todo 2"));
+        todoService.findPage(null, PAGE_SIZE);
+
+        // When & Then
+        todoService.finishAll(List.of(first.getTodoId(), second.getTodoId()));
+        assertThat(todoService.findPage(null, PAGE_SIZE).getTodos()).allMatch(TodoSummary::isFinished);
+
+        todoService.deleteAll(List.of(first.getTodoId()));
+        assertThat(titles(todoService.findPage(null, PAGE_SIZE))).containsExactly("Todo 2");
+    }
+
+    @Test
+    void createAll_invalidatesCachedList() {
+        // Given
+        todoService.findPage(null, PAGE_SIZE);
+
+        // When
+        todoService.createAll(List.of(new Todo("Todo 1"), new Todo("Todo 2")));
+
+        // Then
+        assertThat(todoService.findPage(null, PAGE_SIZE).getTodos()).hasSize(2);
+    }
+
+    private List<String> titles(TodoPage page) {
+        return page.getTodos().stream().map(TodoSummary::getTodoTitle).toList();
+    }
+}
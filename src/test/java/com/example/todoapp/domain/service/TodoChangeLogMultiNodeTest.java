@@ -0,0 +1,124 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.TodoApplication;
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts on one shared H2 database, standing in for two nodes: a change made through
+ * one node's {@link TodoService} must reach the other node's read model and revision within a bounded lag.
+ */
+class TodoChangeLogMultiNodeTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private static final String OWNER = Todo.ANONYMOUS_OWNER;
+
+    private ConfigurableApplicationContext nodeA;
+
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:changelog-" + UUID.randomUUID();
+        nodeA = start(url, "node-a", "create-drop");
+        nodeB = start(url, "node-b", "none");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // スキーマを削除するノードAを後に停止する
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void createOnOneNode_becomesVisibleOnTheOther_withinBoundedLag() throws Exception {
+        // Given
+        String revisionBefore = nodeB.getBean(TodoRevision.class).current(OWNER);
+
+        // When
+        Todo todo = nodeA.getBean(TodoService.class).create(new Todo("Created on A"));
+
+        // Then
+        Duration lag = await(() -> ids(nodeB).contains(todo.getTodoId()));
+        assertThat(lag).isLessThan(MAX_LAG);
+        assertThat(nodeB.getBean(TodoRevision.class).current(OWNER)).isNotEqualTo(revisionBefore);
+        assertThat(nodeB.getBean(TodoReadModel.class).verify()).isEmpty();
+    }
+
+    @Test
+    void finishAndDeleteOnOtherNode_areReflectedBack() throws Exception {
+        // Given
+        Todo kept = nodeA.getBean(TodoService.class).create(new Todo("Kept"));
+        Todo deleted = nodeA.getBean(TodoService.class).create(new Todo("Deleted"));
+        await(() -> ids(nodeB).containsAll(List.of(kept.getTodoId(), deleted.getTodoId())));
+
+        // When
+        nodeB.getBean(TodoService.class).finish(kept.getTodoId());
+        nodeB.getBean(TodoService.class).delete(deleted.getTodoId());
+
+        // Then
+        await(() -> ids(nodeA).equals(List.of(kept.getTodoId()))
+                && nodeA.getBean(TodoService.class).findAll().get(0).isFinished());
+        assertThat(nodeA.getBean(TodoReadModel.class).verify()).isEmpty();
+        assertThat(nodeB.getBean(TodoReadModel.class).verify()).isEmpty();
+        // 自ノードの変更は読み取り済みのため、ログからは反映しない
+        assertThat(applied(nodeA)).isEqualTo(2);
+        assertThat(applied(nodeB)).isEqualTo(2);
+    }
+
+    private static ConfigurableApplicationContext start(String url, String nodeId, String ddlAuto) {
+        return new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.show-sql=false",
+                        // 第2レベルキャッシュのCacheManagerは同じURIのJVM内で共有されるため、ノード毎に持てない
+                        // (停止時に他のテストのコンテキストが使うCacheManagerも閉じてしまう)
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--todo.read-model.enabled=true",
+                        "--todo.change-log.enabled=true",
+                        "--todo.change-log.node-id=" + nodeId,
+                        "--todo.change-log.poll-interval=20ms",
+                        "--logging.level.com.example.todoapp=INFO",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+    }
+
+    private static List<Long> ids(ConfigurableApplicationContext node) {
+        return node.getBean(TodoService.class).findAll().stream().map(TodoSummary::getTodoId).toList();
+    }
+
+    private static double applied(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get(TodoChangePoller.APPLIED_METRIC).counter().count();
+    }
+
+    private static Duration await(BooleanSupplier condition) throws InterruptedException {
+        long start = System.nanoTime();
+        while (!condition.getAsBoolean()) {
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).as("replication lag").isLessThan(MAX_LAG);
+            Thread.sleep(10);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
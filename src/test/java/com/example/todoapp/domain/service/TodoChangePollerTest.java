@@ -0,0 +1,142 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoChange;
+import com.example.todoapp.domain.repository.TodoChangeRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoChangePollerTest {
+
+    private static final String NODE_ID = "node-a";
+
+    @Mock
+    private TodoChangeRepository todoChangeRepository;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(mock(org.hibernate.Cache.class));
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+    }
+
+    @Test
+    void lateCommittedSequence_isAppliedAfterHigherOnes() {
+        // Given
+        TodoChangePoller poller = poller(Duration.ofMinutes(1));
+        when(todoChangeRepository.findAfter(0, 500)).thenReturn(List.of(change(1, "node-b"), change(3, "node-b")));
+        assertThat(poller.poll()).isEqualTo(2);
+
+        // When
+        when(todoChangeRepository.findAfter(3, 500)).thenReturn(List.of());
+        when(todoChangeRepository.findAllById(Set.of(2L))).thenReturn(List.of(change(2, "node-b")));
+        int applied = poller.poll();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(publishedTodoIds(3)).containsExactly(List.of(1L), List.of(3L), List.of(2L));
+    }
+
+    @Test
+    void sequenceBelowTheStartPosition_isAppliedWhenItCommitsLate() {
+        // Given (起動時には1番と3番がコミット済みで、2番は未コミット)
+        TodoChangePoller poller = poller(Duration.ofMinutes(1));
+        when(todoChangeRepository.findLastSequence()).thenReturn(3L);
+        when(todoChangeRepository.findSequencesBetween(0, 3)).thenReturn(List.of(1L, 3L));
+        poller.initialize();
+
+        // When
+        when(todoChangeRepository.findAfter(3, 500)).thenReturn(List.of());
+        when(todoChangeRepository.findAllById(Set.of(2L))).thenReturn(List.of(change(2, "node-b")));
+        int applied = poller.poll();
+
+        // Then (起動時のキャッシュに含まれる1番と3番は適用しない)
+        assertThat(applied).isEqualTo(1);
+        assertThat(publishedTodoIds(1)).containsExactly(List.of(2L));
+    }
+
+    @Test
+    void changesOfThisNode_areNotRepublished() {
+        // Given
+        TodoChangePoller poller = poller(Duration.ofMinutes(1));
+        when(todoChangeRepository.findAfter(0, 500)).thenReturn(List.of(change(1, NODE_ID), change(2, "node-b")));
+
+        // When
+        int applied = poller.poll();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(publishedTodoIds(1)).containsExactly(List.of(2L));
+    }
+
+    @Test
+    void gapThatNeverCommits_isSkippedAfterTimeout() {
+        // Given
+        TodoChangePoller poller = poller(Duration.ZERO);
+        when(todoChangeRepository.findAfter(0, 500)).thenReturn(List.of(change(1, "node-b"), change(3, "node-b")));
+        poller.poll();
+
+        // When
+        when(todoChangeRepository.findAfter(3, 500)).thenReturn(List.of(change(4, "node-b")));
+        poller.poll();
+
+        // Then
+        verify(todoChangeRepository, never()).findAllById(anyIterable());
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+    }
+
+    private TodoChangePoller poller(Duration gapTimeout) {
+        return new TodoChangePoller(todoChangeRepository, todoRepository, eventPublisher, entityManagerFactory,
+                new SimpleMeterRegistry(), NODE_ID, Duration.ofMillis(10), gapTimeout, Duration.ofHours(1), 500);
+    }
+
+    private static TodoChange change(long sequence, String nodeId) {
+        TodoChange change = new TodoChange(nodeId, TodoChangedEvent.Type.FINISHED.name(), Todo.ANONYMOUS_OWNER,
+                List.of(sequence));
+        change.setSequence(sequence);
+        return change;
+    }
+
+    private List<List<Long>> publishedTodoIds(int count) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(count)).publishEvent(captor.capture());
+        return captor.getAllValues().stream().map(event -> {
+            assertThat(((TodoChangedEvent) event).isRemote()).isTrue();
+            return ((TodoChangedEvent) event).getTodoIds();
+        }).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:counterinitializertest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+class TodoCounterInitializerTest {
+
+    private static final String OWNER = "alice";
+
+    @Autowired
+    private TodoCounterInitializer todoCounterInitializer;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        todoCounterRepository.deleteAll();
+    }
+
+    @Test
+    void initialize_resetsCountersThatDrifted_andCreatesMissingOnes() {
+        // Given
+        save(OWNER, false);
+        save(OWNER, true);
+        save("bob", false);
+        todoCounterRepository.save(new TodoCounter(TodoCounter.unfinishedKey(OWNER), 4));
+        todoCounterRepository.save(new TodoCounter(TodoCounter.unfinishedKey("carol"), 2));
+
+        // When
+        todoCounterInitializer.initialize();
+
+        // Then
+        assertThat(counter(OWNER)).isEqualTo(1);
+        assertThat(counter("bob")).isEqualTo(1);
+        assertThat(counter("carol")).isZero();
+    }
+
+    @Test
+    void initialize_countsAdmissionOfAnotherNode_thatHoldsTheCounterRow() throws Exception {
+        // Given
+        save(OWNER, false);
+        todoCounterRepository.save(new TodoCounter(TodoCounter.unfinishedKey(OWNER), 1));
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 他ノードの受付: カウンタ行をロックしたまま、未完了のTODOを追加してコミットを待つ
+        CompletableFuture<Void> admission = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    assertThat(todoCounterRepository.incrementIfLessThan(TodoCounter.unfinishedKey(OWNER), 5))
+                            .isEqualTo(1);
+                    save(OWNER, false);
+                    admitted.countDown();
+                    awaitQuietly(release);
+                }));
+        assertThat(admitted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<Void> initialization = CompletableFuture.runAsync(todoCounterInitializer::initialize);
+        Thread.sleep(200);
+        release.countDown();
+        admission.get(10, TimeUnit.SECONDS);
+        initialization.get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(counter(OWNER)).isEqualTo(2);
+    }
+
+    private void save(String owner, boolean finished) {
+        Todo todo = new Todo("Todo of " + owner);
+        todo.setOwner(owner);
+        todo.setFinished(finished);
+        todoRepository.save(todo);
+    }
+
+    private long counter(String owner) {
+        return todoCounterRepository.findById(TodoCounter.unfinishedKey(owner)).orElseThrow().getCounterValue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readmodeltest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.read-model.enabled=true"
+})
+class TodoReadModelTest {
+
+    private static final String OWNER = Todo.ANONYMOUS_OWNER;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoReadModel todoReadModel;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private TodoRevision todoRevision;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAllInBatch();
+        for (TodoCounter counter : todoCounterRepository.findAll()) {
+            counter.setCounterValue(0);
+            todoCounterRepository.save(counter);
+        }
+        todoReadModel.rebuild();
+    }
+
+    @Test
+    void mutationsThroughService_areReflectedAfterCommit() {
+        // When & Then
+        Todo first = todoService.create(new Todo("Todo 1"));
+        Todo second = todoService.create(new Todo("Todo 2"));
+        assertThat(todoReadModel.snapshot(OWNER).getTodos()).extracting(TodoSummary::getTodoId)
+                .containsExactly(second.getTodoId(), first.getTodoId());
+        assertThat(todoReadModel.snapshot(OWNER).getUnfinishedCount()).isEqualTo(2);
+
+        todoService.finish(first.getTodoId());
+        assertThat(todoReadModel.snapshot(OWNER).getFinishedCount()).isEqualTo(1);
+        assertThat(todoReadModel.snapshot(OWNER).getUnfinishedCount()).isEqualTo(1);
+
+        todoService.delete(second.getTodoId());
+        assertThat(todoReadModel.snapshot(OWNER).getTodos()).extracting(TodoSummary::getTodoId)
+                .containsExactly(first.getTodoId());
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void bulkMutations_areReflectedAfterCommit() {
+        // Given
+        List<Todo> created = todoService.createAll(List.of(new Todo("Todo 1"), new Todo("Todo 2"), new Todo("Todo 3")));
+        List<Long> ids = created.stream().map(Todo::getTodoId).toList();
+
+        // When
+        todoService.finishAll(ids.subList(0, 2));
+        todoService.deleteAll(ids.subList(1, 3));
+
+        // Then
+        assertThat(todoReadModel.snapshot(OWNER).getTodos()).extracting(TodoSummary::getTodoId)
+                .containsExactly(ids.get(0));
+        assertThat(todoReadModel.snapshot(OWNER).getTodos().get(0).isFinished()).isTrue();
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void changes_areReflectedOnlyInTheOwnersPartition() {
+        // Given
+        Todo anonymous = todoService.create(new Todo("Anonymous"));
+
+        // When
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("alice", "password", "ROLE_USER"));
+        Todo alice;
+        try {
+            alice = todoService.create(new Todo("Alice"));
+            todoService.finish(alice.getTodoId());
+            assertThat(todoService.findAll()).extracting(TodoSummary::getTodoId).containsExactly(alice.getTodoId());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        // Then
+        assertThat(todoReadModel.snapshot(OWNER).getTodos()).extracting(TodoSummary::getTodoId)
+                .containsExactly(anonymous.getTodoId());
+        assertThat(todoReadModel.snapshot("alice").getFinishedCount()).isEqualTo(1);
+        assertThat(todoReadModel.snapshot("nobody").getTodos()).isEmpty();
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void rolledBackChanges_areNotReflected() {
+        // Given
+        todoService.create(new Todo("Kept"));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            todoService.create(new Todo("Rolled back"));
+            status.setRollbackOnly();
+        });
+        todoService.create(new Todo("After rollback"));
+
+        // Then
+        assertThat(todoReadModel.snapshot(OWNER).getTodos()).extracting(TodoSummary::getTodoTitle)
+                .containsExactly("After rollback", "Kept");
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void revisionAdvancesWithTheSnapshot_whenAnEarlierTicketRollsBack() throws Exception {
+        // Given (先にチケットを取ったトランザクションがコミット直前で止まっている)
+        CountDownLatch ticketTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> earlier = holdTicket(ticketTaken, release, true);
+        assertThat(ticketTaken.await(10, TimeUnit.SECONDS)).isTrue();
+        String revisionBefore = todoRevision.current("alice");
+
+        // When
+        Todo alice = createAs("alice", new Todo("Alice"));
+
+        // Then (先行するチケットを待つ間は、スナップショットもリビジョンも変えない)
+        assertThat(todoReadModel.snapshot("alice").getTodos()).isEmpty();
+        assertThat(todoRevision.current("alice")).isEqualTo(revisionBefore);
+        release.countDown();
+        assertThatThrownBy(() -> earlier.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(todoReadModel.snapshot("alice").getTodos()).extracting(TodoSummary::getTodoId)
+                .containsExactly(alice.getTodoId());
+        assertThat(todoRevision.current("alice")).isNotEqualTo(revisionBefore);
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void remoteChange_waitsForAnEarlierLocalTicket_beforeAdvancingTheRevision() throws Exception {
+        // Given
+        CountDownLatch ticketTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> local = holdTicket(ticketTaken, release, false);
+        assertThat(ticketTaken.await(10, TimeUnit.SECONDS)).isTrue();
+        // 他ノードがコミットした行
+        Todo remote = new Todo("Created on another node");
+        remote.setOwner("alice");
+        todoRepository.save(remote);
+        String revisionBefore = todoRevision.current("alice");
+
+        // When (TodoChangePollerと同じく、トランザクション外で発行する)
+        eventPublisher.publishEvent(TodoChangedEvent.remote(TodoChangedEvent.Type.CREATED, "alice",
+                List.of(remote.getTodoId()), List.of(TodoSummary.of(remote))));
+
+        // Then
+        assertThat(todoReadModel.snapshot("alice").getTodos()).isEmpty();
+        assertThat(todoRevision.current("alice")).isEqualTo(revisionBefore);
+        release.countDown();
+        local.get(10, TimeUnit.SECONDS);
+        assertThat(todoReadModel.snapshot("alice").getTodos()).extracting(TodoSummary::getTodoId)
+                .containsExactly(remote.getTodoId());
+        assertThat(todoRevision.current("alice")).isNotEqualTo(revisionBefore);
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void rebuild_loadsRowsWrittenBehindTheService() {
+        // Given
+        Todo todo = new Todo("Written directly");
+        todo.setFinished(true);
+        todoRepository.save(todo);
+        assertThat(todoReadModel.verify()).isNotEmpty();
+
+        // When
+        todoReadModel.rebuild();
+
+        // Then
+        assertThat(todoReadModel.verify()).isEmpty();
+        assertThat(todoReadModel.snapshot(OWNER).getFinishedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotPages_matchKeysetQueryOrder_includingCreatedAtTies() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Todo todo = new Todo("Todo " + i);
+            todo.setFinished(true);
+            todo.setCreatedAt(base.plusMinutes(i / 2));
+            todos.add(todo);
+        }
+        todoService.createAll(todos);
+        List<Long> expectedIds = new ArrayList<>();
+        for (TodoPage page = queryPage(null); ; page = queryPage(page)) {
+            page.getTodos().forEach(todo -> expectedIds.add(todo.getTodoId()));
+            if (!page.hasNext()) {
+                break;
+            }
+        }
+
+        // When
+        List<Long> actualIds = new ArrayList<>();
+        TodoPage page = todoReadModel.snapshot(OWNER).page(null, 3);
+        while (true) {
+            page.getTodos().forEach(todo -> actualIds.add(todo.getTodoId()));
+            if (!page.hasNext()) {
+                break;
+            }
+            page = todoReadModel.snapshot(OWNER).page(page.getNextCursor(), 3);
+        }
+
+        // Then
+        assertThat(actualIds).hasSize(7).containsExactlyElementsOf(expectedIds);
+    }
+
+    private Todo createAs(String owner, Todo todo) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(owner, "password", "ROLE_USER"));
+        try {
+            return todoService.create(todo);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // 匿名ユーザーのTODOを作成するトランザクションが、チケットを取った後(コミット直前)にreleaseまで止まる
+    private CompletableFuture<Void> holdTicket(CountDownLatch ticketTaken, CountDownLatch release, boolean rollBack) {
+        return CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            todoService.create(new Todo(rollBack ? "Rolled back" : "Committed"));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    ticketTaken.countDown();
+                    awaitQuietly(release);
+                    if (rollBack) {
+                        throw new IllegalStateException("Rolled back after taking a ticket");
+                    }
+                }
+            });
+        }));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TodoPage queryPage(TodoPage previous) {
+        List<TodoSummary> rows = (previous == null)
+                ? todoRepository.findFirstPage(Todo.ANONYMOUS_OWNER, 4)
+                : todoRepository.findPageAfter(Todo.ANONYMOUS_OWNER, previous.getNextCursor().getCreatedAt(),
+                        previous.getNextCursor().getTodoId(), 4);
+        return TodoPage.of(rows, 3);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.terasoluna.gfw.common.exception.BusinessException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:revisiontest",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class TodoRevisionTest {
+
+    private static final String OWNER = Todo.ANONYMOUS_OWNER;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRevision todoRevision;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        for (TodoCounter counter : todoCounterRepository.findAll()) {
+            counter.setCounterValue(0);
+            todoCounterRepository.save(counter);
+        }
+    }
+
+    @Test
+    void revisionAdvancesOnEveryCommittedMutation() {
+        // Given
+        String initial = todoRevision.current(OWNER);
+
+        // When & Then
+        Todo todo = todoService.create(new Todo("Todo"));
+        String afterCreate = todoRevision.current(OWNER);
+        assertThat(afterCreate).isNotEqualTo(initial);
+
+        todoService.finish(todo.getTodoId());
+        String afterFinish = todoRevision.current(OWNER);
+        assertThat(afterFinish).isNotEqualTo(afterCreate);
+
+        todoService.deleteAll(List.of(todo.getTodoId()));
+        assertThat(todoRevision.current(OWNER)).isNotEqualTo(afterFinish);
+    }
+
+    @Test
+    void revisionIsUnchanged_byAnotherOwnersMutation() {
+        // Given
+        String initial = todoRevision.current(OWNER);
+        String othersInitial = todoRevision.current("alice");
+
+        // When
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("alice", "password", "ROLE_USER"));
+        try {
+            todoService.create(new Todo("Alice"));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        // Then
+        assertThat(todoRevision.current(OWNER)).isEqualTo(initial);
+        assertThat(todoRevision.current("alice")).isNotEqualTo(othersInitial).isNotEqualTo(initial);
+    }
+
+    @Test
+    void revisionIsUnchanged_whenTransactionRollsBack() {
+        // Given
+        String initial = todoRevision.current(OWNER);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            todoService.create(new Todo("Todo"));
+            // コミット前はリビジョンを進めない
+            assertThat(todoRevision.current(OWNER)).isEqualTo(initial);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(todoRevision.current(OWNER)).isEqualTo(initial);
+    }
+
+    @Test
+    void revisionIsUnchanged_whenMutationIsRejected() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            todoService.create(new Todo("Todo " + i));
+        }
+        String beforeRejection = todoRevision.current(OWNER);
+
+        // When
+        assertThatThrownBy(() -> todoService.create(new Todo("Over limit")))
+                .isInstanceOf(BusinessException.class);
+
+        // Then
+        assertThat(todoRevision.current(OWNER)).isEqualTo(beforeRejection);
+    }
+}
@@ -1,41 +1,87 @@
 package com.example.todoapp.domain.service;
 
 import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.model.TodoCursor;
+import com.example.todoapp.domain.model.TodoPage;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
 import com.example.todoapp.domain.repository.TodoRepository;
+import com.example.todoapp.domain.repository.TodoRepository.TodoState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.terasoluna.gfw.common.exception.BusinessException;
 import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TodoServiceImplTest {
 
+    private static final String OWNER = Todo.ANONYMOUS_OWNER;
+
+    private static final String COUNTER = TodoCounter.unfinishedKey(OWNER);
+
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private TodoCounterRepository todoCounterRepository;
+
+    @Mock
+    private TodoCounterInitializer todoCounterInitializer;
+
+    @Spy
+    private TodoOwnerResolver todoOwnerResolver = new TodoOwnerResolver();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TodoReadModel todoReadModel;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TodoServiceImpl todoService;
 
     private Todo sampleTodo;
 
+    private TodoSummary sampleSummary;
+
     @BeforeEach
     void setUp() {
         sampleTodo = new Todo();
@@ -43,26 +89,92 @@ class TodoServiceImplTest {
         sampleTodo.setTodoTitle("Test Todo");
         sampleTodo.setFinished(false);
         sampleTodo.setCreatedAt(LocalDateTime.now());
+        sampleSummary = TodoSummary.of(sampleTodo);
     }
 
     @Test
     void findAll_returnsAllTodos() {
         // Given
-        List<Todo> expectedTodos = Arrays.asList(sampleTodo);
-        when(todoRepository.findAllByOrderByCreatedAtDesc()).thenReturn(expectedTodos);
+        List<TodoSummary> expectedTodos = Arrays.asList(sampleSummary);
+        when(todoRepository.findAllSummaries(OWNER)).thenReturn(expectedTodos);
 
         // When
-        List<Todo> actualTodos = todoService.findAll();
+        List<TodoSummary> actualTodos = todoService.findAll();
 
         // Then
         assertThat(actualTodos).isEqualTo(expectedTodos);
-        verify(todoRepository).findAllByOrderByCreatedAtDesc();
+        verify(todoRepository).findAllSummaries(OWNER);
+    }
+
+    @Test
+    void findPage_returnsFirstPageWithoutCursor_whenNoMoreRows() {
+        // Given
+        when(todoRepository.findFirstPage(OWNER, 3)).thenReturn(Arrays.asList(sampleSummary));
+
+        // When
+        TodoPage page = todoService.findPage(null, 2);
+
+        // Then
+        assertThat(page.getTodos()).containsExactly(sampleSummary);
+        assertThat(page.hasNext()).isFalse();
+        verify(todoRepository, never()).findAllSummaries(OWNER);
+    }
+
+    @Test
+    void findPage_returnsNextCursor_whenMoreRowsExist() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        TodoSummary second = new TodoSummary(2L, "Second", false, createdAt);
+        TodoSummary third = new TodoSummary(3L, "Third", false, createdAt.minusMinutes(1));
+        TodoCursor cursor = new TodoCursor(createdAt.plusMinutes(1), 10L);
+        when(todoRepository.findPageAfter(OWNER, cursor.getCreatedAt(), 10L, 3))
+                .thenReturn(Arrays.asList(sampleSummary, second, third));
+
+        // When
+        TodoPage page = todoService.findPage(cursor, 2);
+
+        // Then
+        assertThat(page.getTodos()).containsExactly(sampleSummary, second);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getNextCursor().getTodoId()).isEqualTo(2L);
+        assertThat(page.getNextCursor().getCreatedAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void findPage_isServedFromReadModel_whenAvailable() {
+        // Given
+        TodoReadModel.Snapshot snapshot = new TodoReadModel.Snapshot(Arrays.asList(sampleSummary));
+        when(todoReadModel.isAvailable()).thenReturn(true);
+        when(todoReadModel.snapshot(OWNER)).thenReturn(snapshot);
+
+        // When
+        TodoPage page = todoService.findPage(null, 2);
+
+        // Then
+        assertThat(page.getTodos()).containsExactly(sampleSummary);
+        assertThat(todoService.findAll()).containsExactly(sampleSummary);
+        verify(todoRepository, never()).findFirstPage(any(), anyInt());
+        verify(todoRepository, never()).findAllSummaries(OWNER);
+    }
+
+    @Test
+    void exportAll_passesEachTodoToSink() {
+        // Given
+        TodoSummary second = new TodoSummary(2L, "second", true, LocalDateTime.now());
+        when(todoRepository.streamByOwnerOrderByCreatedAtDesc(OWNER)).thenReturn(Stream.of(sampleSummary, second));
+        List<TodoSummary> exported = new ArrayList<>();
+
+        // When
+        todoService.exportAll(exported::add);
+
+        // Then
+        assertThat(exported).containsExactly(sampleSummary, second);
     }
 
     @Test
     void create_savesTodo_whenUnfinishedCountIsLessThanMax() {
         // Given
-        when(todoRepository.countByFinished(false)).thenReturn(4L);
+        when(todoCounterRepository.incrementIfLessThan(COUNTER, 5)).thenReturn(1);
         when(todoRepository.save(any(Todo.class))).thenReturn(sampleTodo);
 
         // When
@@ -70,88 +182,277 @@ class TodoServiceImplTest {
 
         // Then
         assertThat(result).isEqualTo(sampleTodo);
-        verify(todoRepository).countByFinished(false);
+        verify(todoCounterRepository).incrementIfLessThan(COUNTER, 5);
+        verify(todoRepository, never()).countByOwnerAndFinished(OWNER, false);
         verify(todoRepository).save(sampleTodo);
+        assertThat(publishedEvent().getType()).isEqualTo(TodoChangedEvent.Type.CREATED);
+        assertThat(publishedEvent().getTodoIds()).containsExactly(1L);
     }
 
     @Test
     void create_throwsBusinessException_whenUnfinishedCountReachesMax() {
         // Given
-        when(todoRepository.countByFinished(false)).thenReturn(5L);
+        when(todoCounterRepository.incrementIfLessThan(COUNTER, 5)).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> todoService.create(sampleTodo))
-                .isInstanceOf(BusinessException.class);
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("[E001]");
         
-        verify(todoRepository).countByFinished(false);
+        verify(todoCounterRepository).incrementIfLessThan(COUNTER, 5);
         verify(todoRepository, never()).save(any(Todo.class));
+        assertThat(admissionRejections("create")).isEqualTo(1);
+    }
+
+    @Test
+    void createAll_skipsUnfinishedTodosOverLimit_andKeepsFinishedOnes() {
+        // Given
+        Todo first = new Todo("first");
+        first.setTodoId(1L);
+        Todo second = new Todo("second");
+        second.setTodoId(2L);
+        Todo done = new Todo("done");
+        done.setTodoId(3L);
+        done.setFinished(true);
+        Todo third = new Todo("third");
+        third.setTodoId(4L);
+        when(todoCounterRepository.incrementIfLessThan(COUNTER, 5)).thenReturn(1, 0);
+        when(todoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Todo> saved = todoService.createAll(Arrays.asList(first, second, done, third));
+
+        // Then
+        assertThat(saved).containsExactly(first, done);
+        verify(todoCounterRepository, times(2)).incrementIfLessThan(COUNTER, 5);
+        assertThat(admissionRejections("createAll")).isEqualTo(2);
     }
 
     @Test
-    void finish_marksTodoAsFinished_whenTodoExistsAndNotFinished() {
+    void create_initializesCounterOfNewOwner_andRetriesAdmission() {
         // Given
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoCounterRepository.incrementIfLessThan(COUNTER, 5)).thenReturn(0, 1);
+        when(todoCounterInitializer.initializeOwner(OWNER)).thenReturn(true);
         when(todoRepository.save(any(Todo.class))).thenReturn(sampleTodo);
 
         // When
-        Todo result = todoService.finish(1L);
+        todoService.create(sampleTodo);
 
         // Then
-        assertThat(result.isFinished()).isTrue();
-        verify(todoRepository).findById(1L);
+        verify(todoCounterInitializer).initializeOwner(OWNER);
+        verify(todoCounterRepository, times(2)).incrementIfLessThan(COUNTER, 5);
         verify(todoRepository).save(sampleTodo);
     }
 
+    @Test
+    void create_admitsAgainstCounterOfAuthenticatedUser() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("alice", "password", "ROLE_USER"));
+        try {
+            when(todoCounterRepository.incrementIfLessThan(TodoCounter.unfinishedKey("alice"), 5)).thenReturn(1);
+            when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            Todo result = todoService.create(new Todo("Alice's todo"));
+
+            // Then
+            assertThat(result.getOwner()).isEqualTo("alice");
+            verify(todoCounterRepository, never()).incrementIfLessThan(COUNTER, 5);
+            assertThat(publishedEvent().getOwner()).isEqualTo("alice");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void findSummary_returnsProjection_whenTodoExists() {
+        // Given
+        when(todoRepository.findSummaryById(OWNER, 1L)).thenReturn(Optional.of(sampleSummary));
+
+        // When & Then
+        assertThat(todoService.findSummary(1L)).isEqualTo(sampleSummary);
+    }
+
+    @Test
+    void findSummary_throwsResourceNotFoundException_whenTodoNotFound() {
+        // Given
+        when(todoRepository.findSummaryById(OWNER, 1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> todoService.findSummary(1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void finish_marksTodoAsFinished_withOneConditionalUpdate() {
+        // Given
+        when(todoRepository.finishById(OWNER, 1L)).thenReturn(1);
+
+        // When
+        todoService.finish(1L);
+
+        // Then
+        verify(todoRepository).finishById(OWNER, 1L);
+        verify(todoRepository, never()).existsByTodoIdAndOwner(any(), any());
+        verify(todoRepository, never()).save(any(Todo.class));
+        verify(todoCounterRepository).decrement(COUNTER, 1);
+        assertThat(publishedEvent().getType()).isEqualTo(TodoChangedEvent.Type.FINISHED);
+        assertThat(publishedEvent().getTodoIds()).containsExactly(1L);
+    }
+
     @Test
     void finish_throwsBusinessException_whenTodoIsAlreadyFinished() {
         // Given
-        sampleTodo.setFinished(true);
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.finishById(OWNER, 1L)).thenReturn(0);
+        when(todoRepository.existsByTodoIdAndOwner(1L, OWNER)).thenReturn(true);
 
         // When & Then
         assertThatThrownBy(() -> todoService.finish(1L))
-                .isInstanceOf(BusinessException.class);
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("[E002]");
         
-        verify(todoRepository).findById(1L);
-        verify(todoRepository, never()).save(any(Todo.class));
+        verify(todoCounterRepository, never()).decrement(any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     void finish_throwsResourceNotFoundException_whenTodoNotFound() {
         // Given
-        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(todoRepository.finishById(OWNER, 1L)).thenReturn(0);
+        when(todoRepository.existsByTodoIdAndOwner(1L, OWNER)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> todoService.finish(1L))
-                .isInstanceOf(ResourceNotFoundException.class);
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("[E404]");
         
-        verify(todoRepository).findById(1L);
-        verify(todoRepository, never()).save(any(Todo.class));
+        verify(todoCounterRepository, never()).decrement(any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void delete_removesTodo_whenTodoIsUnfinished() {
+        // Given
+        when(todoRepository.deleteUnfinishedById(OWNER, 1L)).thenReturn(1);
+
+        // When
+        todoService.delete(1L);
+
+        // Then
+        verify(todoRepository, never()).deleteRowById(OWNER, 1L);
+        verify(todoRepository, never()).delete(any(Todo.class));
+        verify(todoCounterRepository).decrement(COUNTER, 1);
+        assertThat(publishedEvent().getType()).isEqualTo(TodoChangedEvent.Type.DELETED);
     }
 
     @Test
-    void delete_removesTodo_whenTodoExists() {
+    void delete_keepsUnfinishedCounter_whenTodoIsFinished() {
         // Given
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.deleteUnfinishedById(OWNER, 1L)).thenReturn(0);
+        when(todoRepository.deleteRowById(OWNER, 1L)).thenReturn(1);
 
         // When
         todoService.delete(1L);
 
         // Then
-        verify(todoRepository).findById(1L);
-        verify(todoRepository).delete(sampleTodo);
+        verify(todoCounterRepository, never()).decrement(any(), anyLong());
+        assertThat(publishedEvent().getType()).isEqualTo(TodoChangedEvent.Type.DELETED);
     }
 
     @Test
     void delete_throwsResourceNotFoundException_whenTodoNotFound() {
         // Given
-        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(todoRepository.deleteUnfinishedById(OWNER, 1L)).thenReturn(0);
+        when(todoRepository.deleteRowById(OWNER, 1L)).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> todoService.delete(1L))
-                .isInstanceOf(ResourceNotFoundException.class);
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("[E404]");
         
-        verify(todoRepository).findById(1L);
+        verify(todoCounterRepository, never()).decrement(any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void finishAll_reportsOutcomePerId_andUpdatesInOneStatement() {
+        // Given
+        when(todoRepository.findStatesForUpdate(OWNER, Arrays.asList(1L, 2L, 3L)))
+                .thenReturn(Arrays.asList(state(1L, false), state(2L, true)));
+        when(todoRepository.finishAllByIds(OWNER, Arrays.asList(1L))).thenReturn(1);
+
+        // When
+        TodoBatchResult result = todoService.finishAll(Arrays.asList(1L, 2L, 3L));
+
+        // Then
+        assertThat(result.getOutcomes()).containsExactly(
+                entry(1L, TodoBatchResult.Outcome.FINISHED),
+                entry(2L, TodoBatchResult.Outcome.ALREADY_FINISHED),
+                entry(3L, TodoBatchResult.Outcome.NOT_FOUND));
+        assertThat(result.hasFailures()).isTrue();
+        verify(todoRepository).finishAllByIds(OWNER, Arrays.asList(1L));
+        verify(todoCounterRepository).decrement(COUNTER, 1);
+        verify(todoRepository, never()).finishById(any(), any());
+        verify(todoRepository, never()).save(any(Todo.class));
+        assertThat(publishedEvent().getType()).isEqualTo(TodoChangedEvent.Type.FINISHED);
+        assertThat(publishedEvent().getTodoIds()).containsExactly(1L);
+    }
+
+    @Test
+    void finishAll_skipsUpdate_whenNothingToFinish() {
+        // Given
+        when(todoRepository.findStatesForUpdate(OWNER, Arrays.asList(2L)))
+                .thenReturn(Arrays.asList(state(2L, true)));
+
+        // When
+        TodoBatchResult result = todoService.finishAll(Arrays.asList(2L));
+
+        // Then
+        assertThat(result.getTodoIds(TodoBatchResult.Outcome.ALREADY_FINISHED)).containsExactly(2L);
+        verify(todoRepository, never()).finishAllByIds(any(), anyCollection());
+        verify(todoCounterRepository, never()).decrement(any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deleteAll_deletesFoundIdsInOneStatement_andDecrementsUnfinishedOnly() {
+        // Given
+        when(todoRepository.findStatesForUpdate(OWNER, Arrays.asList(1L, 2L, 3L)))
+                .thenReturn(Arrays.asList(state(1L, false), state(2L, true)));
+
+        // When
+        TodoBatchResult result = todoService.deleteAll(Arrays.asList(1L, 2L, 3L));
+
+        // Then
+        assertThat(result.getTodoIds(TodoBatchResult.Outcome.DELETED)).containsExactly(1L, 2L);
+        assertThat(result.getTodoIds(TodoBatchResult.Outcome.NOT_FOUND)).containsExactly(3L);
+        verify(todoRepository).deleteAllByIdInBatch(Set.of(1L, 2L));
+        verify(todoCounterRepository).decrement(COUNTER, 1);
         verify(todoRepository, never()).delete(any(Todo.class));
     }
-}
\ No newline at end of file
+
+    private TodoState state(Long todoId, boolean finished) {
+        return new TodoState() {
+            @Override
+            public Long getTodoId() {
+                return todoId;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+        };
+    }
+
+    private TodoChangedEvent publishedEvent() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return (TodoChangedEvent) captor.getValue();
+    }
+
+    private double admissionRejections(String operation) {
+        return meterRegistry.get(TodoServiceImpl.ADMISSION_REJECTED_METRIC).tag("operation", operation).counter().count();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.todoapp.domain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+import org.terasoluna.gfw.common.message.ResultMessage;
+import org.terasoluna.gfw.common.message.ResultMessages;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TodoServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TodoService target;
+
+    private TodoService todoService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = mock(TodoService.class);
+        TodoServiceMetricsAspect aspect = new TodoServiceMetricsAspect();
+        aspect.meterRegistry = meterRegistry;
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        todoService = factory.getProxy();
+    }
+
+    @Test
+    void successfulCall_isTimedAsSuccess() {
+        // Given
+        when(target.findAll()).thenReturn(List.of());
+
+        // When
+        todoService.findAll();
+
+        // Then
+        assertThat(count("findAll", "success", "none")).isEqualTo(1);
+    }
+
+    @Test
+    void businessException_isTimedWithItsMessageCode() {
+        // Given
+        when(target.create(any())).thenThrow(new BusinessException(ResultMessages.error().add(
+                ResultMessage.fromText("[E001] The count of un-finished Todo must not be over 5."))));
+
+        // When & Then
+        assertThatThrownBy(() -> todoService.create(null)).isInstanceOf(BusinessException.class);
+        assertThat(count("create", "E001", "BusinessException")).isEqualTo(1);
+    }
+
+    @Test
+    void resourceNotFoundException_isTimedWithItsMessageCode() {
+        // Given
+        doThrow(new ResourceNotFoundException(ResultMessages.error().add(
+                ResultMessage.fromText("[E404] The requested Todo is not found. (id=9)")))).when(target).delete(9L);
+
+        // When & Then
+        assertThatThrownBy(() -> todoService.delete(9L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(count("delete", "E404", "ResourceNotFoundException")).isEqualTo(1);
+    }
+
+    @Test
+    void unexpectedException_isTimedAsError() {
+        // Given
+        doThrow(new IllegalStateException("boom")).when(target).finish(1L);
+
+        // When & Then
+        assertThatThrownBy(() -> todoService.finish(1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(count("finish", "error", "IllegalStateException")).isEqualTo(1);
+    }
+
+    private long count(String method, String outcome, String exception) {
+        return meterRegistry.get(TodoServiceMetricsAspect.METRIC)
+                .tag("method", method).tag("outcome", outcome).tag("exception", exception)
+                .timer().count();
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.todoapp.domain.service;
+
+import com.example.todoapp.common.sql.SqlStatementCounter;
+import com.example.todoapp.domain.model.Todo;
+import com.example.todoapp.domain.model.TodoCounter;
+import com.example.todoapp.domain.model.TodoSummary;
+import com.example.todoapp.domain.repository.TodoCounterRepository;
+import com.example.todoapp.domain.repository.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.terasoluna.gfw.common.exception.BusinessException;
+import org.terasoluna.gfw.common.exception.ResourceNotFoundException;
+import org.terasoluna.gfw.common.message.ResultMessage;
+import org.terasoluna.gfw.common.message.ResultMessages;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writepipelinetest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN",
+        "todo.read-model.enabled=true",
+        "todo.write-pipeline.enabled=true",
+        // 同一スレッドから順に投入した書き込みがまとまるよう、待ち合わせを長めにする
+        "todo.write-pipeline.linger=50ms"
+})
+class TodoWritePipelineTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoWritePipeline todoWritePipeline;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private TodoReadModel todoReadModel;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll();
+        for (TodoCounter counter : todoCounterRepository.findAll()) {
+            counter.setCounterValue(0);
+            todoCounterRepository.save(counter);
+        }
+        todoReadModel.rebuild();
+    }
+
+    @Test
+    void pipeline_isThePrimaryTodoService() {
+        assertThat(todoService).isInstanceOf(TodoWritePipeline.class);
+    }
+
+    @Test
+    void creates_admitMaxUnfinishedInArrivalOrder_withFewerCommitsThanWrites() throws Exception {
+        // Given
+        double commitsBefore = count(TodoWritePipeline.COMMITS_METRIC);
+        List<CompletableFuture<Todo>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            futures.add(todoWritePipeline.submitCreate(new Todo("Todo " + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .handle((result, failure) -> null).get(30, TimeUnit.SECONDS);
+
+        // Then
+        for (int i = 0; i < 20; i++) {
+            if (i < 5) {
+                assertThat(futures.get(i).join().getTodoTitle()).isEqualTo("Todo " + i);
+            } else {
+                assertThat(futures.get(i)).isCompletedExceptionally();
+                int n = i;
+                assertThatThrownBy(() -> futures.get(n).join()).hasCauseInstanceOf(BusinessException.class)
+                        .hasMessageContaining("[E001]");
+            }
+        }
+        assertThat(count(TodoWritePipeline.COMMITS_METRIC) - commitsBefore).isLessThan(20);
+        assertThat(todoRepository.countByOwnerAndFinished(Todo.ANONYMOUS_OWNER, false)).isEqualTo(5);
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void failures_reachOnlyTheirOwnCaller() throws Exception {
+        // Given
+        Todo finished = todoService.create(new Todo("Finished"));
+        todoService.finish(finished.getTodoId());
+
+        // When
+        CompletableFuture<Void> alreadyFinished = todoWritePipeline.submitFinish(finished.getTodoId());
+        CompletableFuture<Void> missing = todoWritePipeline.submitDelete(-1L);
+        CompletableFuture<Todo> created = todoWritePipeline.submitCreate(new Todo("Created"));
+
+        // Then
+        Todo createdTodo = created.get(30, TimeUnit.SECONDS);
+        assertThatThrownBy(alreadyFinished::join).hasCauseInstanceOf(BusinessException.class)
+                .hasMessageContaining("[E002]");
+        assertThatThrownBy(missing::join).hasCauseInstanceOf(ResourceNotFoundException.class);
+        assertThat(todoRepository.existsById(createdTodo.getTodoId())).isTrue();
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void writesOfSeveralOwners_inOneBatch_applyToEachCallersTodos() throws Exception {
+        // Given
+        CompletableFuture<Todo> anonymous = todoWritePipeline.submitCreate(new Todo("Anonymous"));
+        CompletableFuture<Todo> alice;
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("alice", "password", "ROLE_USER"));
+        try {
+            alice = todoWritePipeline.submitCreate(new Todo("Alice"));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        // When
+        Todo anonymousTodo = anonymous.get(30, TimeUnit.SECONDS);
+        Todo aliceTodo = alice.get(30, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(anonymousTodo.getOwner()).isEqualTo(Todo.ANONYMOUS_OWNER);
+        assertThat(aliceTodo.getOwner()).isEqualTo("alice");
+        assertThat(todoRepository.countByOwnerAndFinished("alice", false)).isEqualTo(1);
+        assertThat(todoReadModel.snapshot("alice").getTodos()).extracting(TodoSummary::getTodoId)
+                .containsExactly(aliceTodo.getTodoId());
+        assertThat(todoReadModel.verify()).isEmpty();
+    }
+
+    @Test
+    void synchronousCalls_rethrowTheWriteFailure() {
+        assertThatThrownBy(() -> todoService.finish(-1L)).isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("[E404]");
+    }
+
+    @Test
+    void failedGroupCommit_countsOnlyTheWritesThatCommitOneByOne() throws Exception {
+        // Given
+        TodoService target = mock(TodoService.class);
+        when(target.create(any())).thenAnswer(invocation -> {
+            Todo todo = invocation.getArgument(0);
+            if (todo.getTodoTitle().equals("Broken")) {
+                throw new IllegalStateException("broken");
+            }
+            return todo;
+        });
+        doThrow(new BusinessException(ResultMessages.error().add(ResultMessage.fromText("[E002] finished"))))
+                .when(target).finish(any());
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TodoWritePipeline pipeline = new TodoWritePipeline(target,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SqlStatementCounter(0, 0),
+                registry, 16, 4, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        pipeline.start();
+        try {
+            // When
+            CompletableFuture<Todo> first = pipeline.submitCreate(new Todo("First"));
+            CompletableFuture<Todo> broken = pipeline.submitCreate(new Todo("Broken"));
+            CompletableFuture<Void> finished = pipeline.submitFinish(1L);
+            CompletableFuture<Todo> last = pipeline.submitCreate(new Todo("Last"));
+            CompletableFuture.allOf(first, broken, finished, last)
+                    .handle((result, failure) -> null).get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(first.join().getTodoTitle()).isEqualTo("First");
+            assertThat(last.join().getTodoTitle()).isEqualTo("Last");
+            assertThatThrownBy(broken::join).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(finished::join).hasCauseInstanceOf(BusinessException.class);
+            assertThat(registry.get(TodoWritePipeline.WRITES_METRIC).counter().count()).isEqualTo(2);
+            assertThat(registry.get(TodoWritePipeline.COMMITS_METRIC).counter().count()).isEqualTo(3);
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void fullQueue_rejectsWritesAfterOfferTimeout() throws Exception {
+        // Given
+        TodoService target = mock(TodoService.class);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(target.create(any())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        TodoWritePipeline pipeline = new TodoWritePipeline(target,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SqlStatementCounter(0, 0),
+                new SimpleMeterRegistry(), 1, 1, Duration.ZERO, Duration.ofMillis(20));
+        pipeline.start();
+        try {
+            CompletableFuture<Todo> running = pipeline.submitCreate(new Todo("Running"));
+            assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Todo> queued = pipeline.submitCreate(new Todo("Queued"));
+
+            // When
+            CompletableFuture<Todo> rejected = pipeline.submitCreate(new Todo("Rejected"));
+
+            // Then
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(TodoWriteRejectedException.class)
+                    .hasMessageContaining("[E503]");
+            release.countDown();
+            assertThat(running.get(10, TimeUnit.SECONDS).getTodoTitle()).isEqualTo("Running");
+            assertThat(queued.get(10, TimeUnit.SECONDS).getTodoTitle()).isEqualTo("Queued");
+        } finally {
+            release.countDown();
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void writesSubmittedWhileClosing_allComplete() throws Exception {
+        TodoService target = mock(TodoService.class);
+        when(target.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        // 停止と投入が競合する順序は実行毎に異なるため、繰り返して確かめる
+        for (int round = 0; round < 50; round++) {
+            // Given
+            TodoWritePipeline pipeline = new TodoWritePipeline(target,
+                    new TransactionTemplate(mock(PlatformTransactionManager.class)), new SqlStatementCounter(0, 0),
+                    new SimpleMeterRegistry(), 16, 4, Duration.ZERO, Duration.ofSeconds(1));
+            pipeline.start();
+            List<CompletableFuture<Todo>> futures = new CopyOnWriteArrayList<>();
+            AtomicBoolean closed = new AtomicBoolean();
+            ExecutorService submitters = Executors.newFixedThreadPool(4);
+            for (int i = 0; i < 4; i++) {
+                submitters.execute(() -> {
+                    while (!closed.get()) {
+                        futures.add(pipeline.submitCreate(new Todo("Closing")));
+                    }
+                });
+            }
+
+            // When
+            Thread.sleep(1);
+            pipeline.close();
+            closed.set(true);
+            submitters.shutdown();
+            assertThat(submitters.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            // Then
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .handle((result, failure) -> null).get(10, TimeUnit.SECONDS);
+            for (CompletableFuture<Todo> future : futures) {
+                if (future.isCompletedExceptionally()) {
+                    assertThatThrownBy(future::join).hasCauseInstanceOf(TodoWriteRejectedException.class);
+                }
+            }
+        }
+    }
+
+    private double count(String metric) {
+        return meterRegistry.get(metric).counter().count();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.todoapp.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Settings of the HTTP load test, read from {@code loadtest.properties} and overridable with system properties.
+ */
+class LoadTestSettings {
+
+    private static final String RESOURCE = "/loadtest.properties";
+
+    private final Properties properties = new Properties();
+
+    LoadTestSettings() {
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " is not on the classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest."))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+    }
+
+    int clients() {
+        return getInt("loadtest.clients");
+    }
+
+    int warmupSeconds() {
+        return getInt("loadtest.warmup-seconds");
+    }
+
+    int durationSeconds() {
+        return getInt("loadtest.duration-seconds");
+    }
+
+    int weight(TodoLoadTest.Operation operation) {
+        return getInt("loadtest.mix." + operation.key());
+    }
+
+    /**
+     * @return the budget in milliseconds, or {@code null} if none is configured
+     */
+    Long budgetMillis(TodoLoadTest.Operation operation, String percentile) {
+        String value = properties.getProperty("loadtest.budget." + operation.key() + "." + percentile);
+        return (value == null || value.isBlank()) ? null : Long.valueOf(value.trim());
+    }
+
+    double maxErrorRate() {
+        return Double.parseDouble(require("loadtest.max-error-rate"));
+    }
+
+    String report() {
+        return require("loadtest.report");
+    }
+
+    private int getInt(String name) {
+        return Integer.parseInt(require(name));
+    }
+
+    private String require(String name) {
+        String value = properties.getProperty(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException(name + " is not set in " + RESOURCE);
+        }
+        return value.trim();
+    }
+}
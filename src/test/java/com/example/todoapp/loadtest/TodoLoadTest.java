@@ -0,0 +1,269 @@
+package com.example.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the screen endpoints over HTTP from concurrent clients and checks the latency budgets.
+ * <p>
+ * Each client keeps its own session and CSRF token, picks operations according to the configured
+ * mix, and takes the ids to finish or delete from the last list it has seen. Requests are issued
+ * back to back (closed loop), so latency is recorded per response and includes queueing inside
+ * the server but not time a client would have waited to send. A business rejection, such as the
+ * unfinished limit or a TODO another client already finished, re-renders the list with 200 and
+ * is counted as "rejected", not as an error.
+ * <p>
+ * Latencies go into HDR histograms; the result is written as JSON to {@code loadtest.report}.
+ * Settings are in {@code loadtest.properties}. Run with {@code ./mvnw test -Ploadtest}.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.thymeleaf.cache=true",
+        "logging.level.com.example.todoapp=INFO",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+class TodoLoadTest {
+
+    enum Operation {
+        LIST, CREATE, FINISH, DELETE;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void requestMixStaysWithinLatencyBudgets() throws Exception {
+        // Given
+        LoadTestSettings settings = new LoadTestSettings();
+        String baseUrl = "http://localhost:" + port;
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(settings.clients());
+        List<Future<Client>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.clients(); i++) {
+            Client client = new Client(baseUrl, settings, warmupEnd, end);
+            futures.add(executor.submit(() -> {
+                client.run();
+                return client;
+            }));
+        }
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        for (Future<Client> future : futures) {
+            Client client = future.get();
+            client.stats.forEach((operation, s) -> stats.get(operation).add(s));
+        }
+        executor.shutdown();
+
+        // Then
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Stats s = stats.get(operation);
+            requests += s.histogram.getTotalCount() + s.errors;
+            errors += s.errors;
+            operations.put(operation.key(), s.toReport(operation, settings, violations));
+        }
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        if (requests == 0) {
+            violations.add("no requests completed");
+        }
+        if (errorRate > settings.maxErrorRate()) {
+            violations.add(String.format("error rate %.4f exceeds %.4f", errorRate, settings.maxErrorRate()));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", settings.clients());
+        report.put("durationSeconds", settings.durationSeconds());
+        report.put("requests", requests);
+        report.put("throughputPerSecond", (double) requests / settings.durationSeconds());
+        report.put("errorRate", errorRate);
+        report.put("operations", operations);
+        report.put("violations", violations);
+        report.put("passed", violations.isEmpty());
+        Path reportPath = Path.of(settings.report());
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+
+        System.out.println();
+        System.out.println("=== HTTP load test (" + settings.clients() + " clients, "
+                + settings.durationSeconds() + " s) -> " + reportPath + " ===");
+        for (Operation operation : Operation.values()) {
+            System.out.println(stats.get(operation).summary(operation, settings.durationSeconds()));
+        }
+        assertThat(violations).as("latency budget / error rate violations").isEmpty();
+    }
+
+    private static final class Stats {
+
+        // マイクロ秒単位で記録する(自動拡張)
+        final Histogram histogram = new Histogram(3);
+
+        long rejected;
+
+        long errors;
+
+        void add(Stats other) {
+            histogram.add(other.histogram);
+            rejected += other.rejected;
+            errors += other.errors;
+        }
+
+        Map<String, Object> toReport(Operation operation, LoadTestSettings settings, List<String> violations) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", histogram.getTotalCount());
+            report.put("rejected", rejected);
+            report.put("errors", errors);
+            report.put("throughputPerSecond", (double) histogram.getTotalCount() / settings.durationSeconds());
+            report.put("p50Millis", percentileMillis(50));
+            report.put("p95Millis", percentileMillis(95));
+            report.put("p99Millis", percentileMillis(99));
+            report.put("maxMillis", histogram.getMaxValue() / 1000.0);
+            for (String percentile : List.of("p95", "p99")) {
+                Long budget = settings.budgetMillis(operation, percentile);
+                if (budget == null) {
+                    continue;
+                }
+                double actual = percentileMillis(Double.parseDouble(percentile.substring(1)));
+                report.put(percentile + "BudgetMillis", budget);
+                if (actual > budget) {
+                    violations.add(String.format("%s %s %.1f ms exceeds budget %d ms",
+                            operation.key(), percentile, actual, budget));
+                }
+            }
+            return report;
+        }
+
+        String summary(Operation operation, int seconds) {
+            return String.format("%-7s %,8d req (%,d rejected, %,d errors) %8.1f req/s  p50 %7.2f  p95 %7.2f  p99 %7.2f  max %8.2f ms",
+                    operation.key(), histogram.getTotalCount(), rejected, errors,
+                    (double) histogram.getTotalCount() / seconds,
+                    percentileMillis(50), percentileMillis(95), percentileMillis(99), histogram.getMaxValue() / 1000.0);
+        }
+
+        private double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    private static final class Client {
+
+        private final TodoScreenClient screen;
+
+        private final long warmupEnd;
+
+        private final long end;
+
+        private final Operation[] mix;
+
+        final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+        Client(String baseUrl, LoadTestSettings settings, long warmupEnd, long end) {
+            this.screen = new TodoScreenClient(baseUrl);
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+            List<Operation> weighted = new ArrayList<>();
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new Stats());
+                for (int i = 0; i < settings.weight(operation); i++) {
+                    weighted.add(operation);
+                }
+            }
+            this.mix = weighted.toArray(new Operation[0]);
+        }
+
+        void run() {
+            // 最初の一覧表示でセッションとCSRFトークンを取得する
+            execute(Operation.LIST);
+            while (System.nanoTime() < end) {
+                execute(next());
+            }
+        }
+
+        private Operation next() {
+            Operation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+            // 操作対象のIDが手元にない場合は一覧を取り直す
+            if ((operation == Operation.FINISH && screen.unfinishedIds().isEmpty())
+                    || (operation == Operation.DELETE && screen.todoIds().isEmpty())) {
+                return Operation.LIST;
+            }
+            return operation;
+        }
+
+        private void execute(Operation operation) {
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = switch (operation) {
+                    case LIST -> screen.list();
+                    case CREATE -> screen.post("/todo/create", "todoTitle=Load+test");
+                    case FINISH -> screen.post("/todo/finish", "todoId=" + pick(screen.unfinishedIds()));
+                    case DELETE -> screen.post("/todo/delete", "todoId=" + pick(screen.todoIds()));
+                };
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = System.nanoTime();
+            if (start < warmupEnd || now > end) {
+                return;
+            }
+            Stats s = stats.get(operation);
+            if (status == 200 || status == 302) {
+                s.histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(now - start));
+                // 一覧以外で200が返るのは業務エラーで一覧画面が再表示された場合
+                if (status == 200 && operation != Operation.LIST) {
+                    s.rejected++;
+                }
+            } else {
+                s.errors++;
+            }
+        }
+
+        private static String pick(List<String> ids) {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+}
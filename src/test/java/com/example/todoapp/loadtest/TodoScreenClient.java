@@ -0,0 +1,151 @@
+package com.example.todoapp.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One user of the TODO screens over HTTP, for load tests and benchmarks.
+ * <p>
+ * Keeps its own cookies (session) and the CSRF token and todo ids of the last list it has shown.
+ * Redirects are not followed. Not thread-safe: use one instance per client thread. Many users can share
+ * one {@link HttpClient}, since the cookies are kept per instance.
+ */
+public class TodoScreenClient {
+
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    private static final Pattern TODO_ID = Pattern.compile("name=\"todoIds\"[^>]*?value=\"(\\d+)\"");
+
+    private static final Pattern UNFINISHED_TODO_ID = Pattern.compile("form=\"finishForm\" name=\"todoId\"\\s+value=\"(\\d+)\"");
+
+    private final HttpClient http;
+
+    private final String baseUrl;
+
+    private final CookieManager cookies = new CookieManager();
+
+    private HttpHeaders headers;
+
+    private String csrfToken;
+
+    private List<String> todoIds = List.of();
+
+    private List<String> unfinishedIds = List.of();
+
+    public TodoScreenClient(String baseUrl) {
+        this(newHttpClient(), baseUrl);
+    }
+
+    public TodoScreenClient(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * An HTTP/1.1 client that does not follow redirects, to be shared by several instances.
+     */
+    public static HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Shows {@code /todo/list} and keeps the CSRF token and todo ids found in it.
+     *
+     * @return the status code
+     */
+    public int list() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/todo/list")),
+                HttpResponse.BodyHandlers.ofString());
+        String body = response.body();
+        Matcher csrf = CSRF_TOKEN.matcher(body);
+        if (csrf.find()) {
+            csrfToken = csrf.group(1);
+        }
+        todoIds = findAll(TODO_ID, body);
+        unfinishedIds = findAll(UNFINISHED_TODO_ID, body);
+        return response.statusCode();
+    }
+
+    /**
+     * Posts a form with the CSRF token of the last list. Call {@link #list()} first.
+     *
+     * @param form the URL-encoded form parameters
+     * @return the status code
+     */
+    public int post(String path, String form) throws IOException, InterruptedException {
+        String body = form + "&_csrf=" + URLEncoder.encode(csrfToken, StandardCharsets.UTF_8);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        return send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * The value of a header of the last response, e.g. {@code Server-Timing}.
+     */
+    public Optional<String> lastHeader(String name) {
+        return (headers == null) ? Optional.empty() : headers.firstValue(name);
+    }
+
+    /**
+     * Whether a cookie, e.g. {@code JSESSIONID}, is currently kept.
+     */
+    public boolean hasCookie(String name) {
+        return cookies.getCookieStore().getCookies().stream().anyMatch(cookie -> cookie.getName().equals(name));
+    }
+
+    /**
+     * The ids of all todos in the last list.
+     */
+    public List<String> todoIds() {
+        return todoIds;
+    }
+
+    /**
+     * The ids of the unfinished todos in the last list.
+     */
+    public List<String> unfinishedIds() {
+        return unfinishedIds;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        URI uri = request.build().uri();
+        cookies.get(uri, Map.of()).forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                request.header(name, String.join("; ", values));
+            }
+        });
+        HttpResponse<T> response = http.send(request.build(), bodyHandler);
+        cookies.put(uri, response.headers().map());
+        headers = response.headers();
+        return response;
+    }
+
+    private static List<String> findAll(Pattern pattern, String body) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = pattern.matcher(body);
+        while (matcher.find()) {
+            values.add(matcher.group(1));
+        }
+        return values;
+    }
+}